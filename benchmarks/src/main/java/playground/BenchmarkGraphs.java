@@ -0,0 +1,25 @@
+package playground;
+
+/**
+ * Builds the graphs the benchmarks run on. The plane grows with the number
+ * of vertices so every size is placed at the same density.
+ */
+public class BenchmarkGraphs {
+
+    static final int BALL_RADIUS = 2;
+    static final int MAX_EDGE_DIST = 50;
+    static final int AREA_PER_VERTEX = 1000; // px^2 per vertex, about half of what random placement can pack
+
+    /** Returns the side length of the square plane that holds VERTICES vertices. */
+    static int side(int vertices) {
+        return (int) Math.sqrt((double) vertices * AREA_PER_VERTEX);
+    }
+
+    /** Generates a connected graph with VERTICES vertices and DENSITY extra edges. */
+    static Graph create(int vertices, int density, long seed, Graph.EdgeStrategy edgeStrategy) {
+        int side = side(vertices);
+        Graph graph = new Graph(vertices, BALL_RADIUS, side, side, MAX_EDGE_DIST, seed, edgeStrategy);
+        graph.setDensity(density);
+        return graph;
+    }
+}
@@ -0,0 +1,60 @@
+package playground;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the preprocessing of a contraction hierarchy and its queries, next to
+ * Dijkstra on the same random queries.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContractionHierarchyBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int vertices;
+
+    @Param({"0", "50"})
+    int density;
+
+    @Param({"42"})
+    long seed;
+
+    CsrGraph graph;
+    ContractionHierarchy hierarchy;
+    ContractionHierarchy.Query query;
+    SplittableRandom queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.create(vertices, density, seed, Graph.EdgeStrategy.NEAREST).freeze();
+        hierarchy = ContractionHierarchy.build(graph);
+        query = hierarchy.newQuery();
+        queries = new SplittableRandom(seed);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ContractionHierarchy preprocess() {
+        return ContractionHierarchy.build(graph);
+    }
+
+    @Benchmark
+    public PathResult query() {
+        return query.run(queries.nextInt(graph.vertexCount()), queries.nextInt(graph.vertexCount()));
+    }
+
+    @Benchmark
+    public PathResult dijkstra() {
+        int src = queries.nextInt(graph.vertexCount());
+        int dst = queries.nextInt(graph.vertexCount());
+        return PathEngine.dijkstra(graph, src, dst, SearchListener.NONE);
+    }
+}
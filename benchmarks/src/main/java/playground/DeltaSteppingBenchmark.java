@@ -0,0 +1,62 @@
+package playground;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full shortest path tree with delta-stepping for different numbers of threads,
+ * next to Dijkstra's algorithm without a target.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeltaSteppingBenchmark {
+
+    @Param({"100000", "1000000"})
+    int vertices;
+
+    @Param({"0", "50"})
+    int density;
+
+    @Param({"42"})
+    long seed;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param({"0"}) // 0 picks DeltaStepping.autoDelta
+    double delta;
+
+    CsrGraph graph;
+    ForkJoinPool pool;
+    DeltaStepping deltaStepping;
+    int source;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.create(vertices, density, seed, Graph.EdgeStrategy.NEAREST).freeze();
+        pool = new ForkJoinPool(threads);
+        deltaStepping = new DeltaStepping(graph, pool, delta > 0 ? delta : DeltaStepping.autoDelta(graph));
+        source = graph.vertexCount() / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double[] deltaStepping() {
+        return deltaStepping.distances(source);
+    }
+
+    @Benchmark
+    public double[] dijkstra() {
+        return PathEngine.distances(graph, source);
+    }
+}
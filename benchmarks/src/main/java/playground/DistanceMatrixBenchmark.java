@@ -0,0 +1,70 @@
+package playground;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a many to many distance table for different numbers of threads, next to one
+ * Dijkstra query per pair.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DistanceMatrixBenchmark {
+
+    @Param({"100000"})
+    int vertices;
+
+    @Param({"0", "50"})
+    int density;
+
+    @Param({"42"})
+    long seed;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param({"20"})
+    int size; // sources and targets
+
+    CsrGraph graph;
+    ForkJoinPool pool;
+    int[] sources;
+    int[] targets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.create(vertices, density, seed, Graph.EdgeStrategy.NEAREST).freeze();
+        pool = new ForkJoinPool(threads);
+        Random random = new Random(seed);
+        sources = random.ints(size, 0, graph.vertexCount()).toArray();
+        targets = random.ints(size, 0, graph.vertexCount()).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public DistanceMatrix matrix() {
+        return DistanceMatrix.compute(graph, sources, targets, pool);
+    }
+
+    @Benchmark
+    public double pairwise() {
+        double sum = 0;
+        for (int s : sources) {
+            for (int t : targets) {
+                sum += PathEngine.dijkstra(graph, s, t, SearchListener.NONE).cost;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,52 @@
+package playground;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast random graphs are generated: vertex placement and the
+ * spanning edges in the constructor, and adding and removing extra edges
+ * through the density setting. Run with -prof gc for allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphGenerationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int vertices;
+
+    @Param({"0", "20", "50"})
+    int density;
+
+    @Param({"42"})
+    long seed;
+
+    @Param({"RANDOM", "NEAREST"})
+    Graph.EdgeStrategy edgeStrategy;
+
+    Graph graph; // for the density benchmark
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.create(vertices, 0, seed, edgeStrategy);
+    }
+
+    /** Places the vertices, connects them and adds the extra edges. */
+    @Benchmark
+    public Graph generate() {
+        return BenchmarkGraphs.create(vertices, density, seed, edgeStrategy);
+    }
+
+    /** Adds DENSITY extra edges to an existing graph and removes them again. */
+    @Benchmark
+    public Graph densityRoundTrip() {
+        graph.setDensity(density);
+        graph.setDensity(0);
+        return graph;
+    }
+}
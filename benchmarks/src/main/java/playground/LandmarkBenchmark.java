@@ -0,0 +1,66 @@
+package playground;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares A* with the straight line heuristic against A* with ALT landmarks on random
+ * queries. Besides throughput it reports how many vertices the queries settled.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LandmarkBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int vertices;
+
+    @Param({"42"})
+    long seed;
+
+    @Param({"EUCLIDEAN", "FARTHEST", "PLANAR"})
+    String heuristic;
+
+    @Param({"16"})
+    int landmarkCount;
+
+    CsrGraph graph;
+    Landmarks landmarks;
+    SplittableRandom queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.create(vertices, 0, seed, Graph.EdgeStrategy.NEAREST).freeze();
+        if (!heuristic.equals("EUCLIDEAN")) {
+            landmarks = Landmarks.select(graph, landmarkCount, Landmarks.Strategy.valueOf(heuristic));
+        }
+        queries = new SplittableRandom(seed);
+    }
+
+    /** Vertices settled per benchmark iteration, reported next to the throughput. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Settled {
+        public long settled;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            settled = 0;
+        }
+    }
+
+    @Benchmark
+    public PathResult query(Settled counter) {
+        int src = queries.nextInt(graph.vertexCount());
+        int dst = queries.nextInt(graph.vertexCount());
+        Heuristic h = landmarks == null ? Heuristic.euclidean(graph, dst) : landmarks.heuristic(dst);
+        PathResult result = PathEngine.astar(graph, src, dst, h, SearchListener.NONE);
+        counter.settled += result.settled;
+        return result;
+    }
+}
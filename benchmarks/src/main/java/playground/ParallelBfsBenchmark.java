@@ -0,0 +1,51 @@
+package playground;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full direction optimizing breadth first search for different numbers of threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelBfsBenchmark {
+
+    @Param({"100000", "1000000"})
+    int vertices;
+
+    @Param({"0", "50"})
+    int density;
+
+    @Param({"42"})
+    long seed;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    CsrGraph graph;
+    ForkJoinPool pool;
+    ParallelBfs bfs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.create(vertices, density, seed, Graph.EdgeStrategy.NEAREST).freeze();
+        pool = new ForkJoinPool(threads);
+        bfs = new ParallelBfs(graph, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ParallelBfs.Result search() {
+        return bfs.search(graph.vertexCount() / 2);
+    }
+}
@@ -0,0 +1,48 @@
+package playground;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the tiled fork/join generator for different numbers of threads.
+ * Every thread count builds exactly the same graph.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelGenerationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int vertices;
+
+    @Param({"42"})
+    long seed;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    ForkJoinPool pool;
+    ParallelGraphGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        generator = new ParallelGraphGenerator(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Graph generate() {
+        int side = BenchmarkGraphs.side(vertices);
+        return generator.generate(vertices, BenchmarkGraphs.BALL_RADIUS, side, side, BenchmarkGraphs.MAX_EDGE_DIST, seed);
+    }
+}
@@ -0,0 +1,49 @@
+package playground;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures headless path queries from the first to the last vertex for
+ * every algorithm the playground animates. Run with -prof gc for allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int vertices;
+
+    @Param({"0", "20", "50"})
+    int density;
+
+    @Param({"42"})
+    long seed;
+
+    @Param({"NEAREST"}) // RANDOM is too slow to generate the large sizes
+    Graph.EdgeStrategy edgeStrategy;
+
+    @Param({"DFS", "BFS", "DIJKSTRA", "ASTAR", "BIDIRECTIONAL_ASTAR", "PARALLEL_BIDIRECTIONAL_ASTAR"})
+    PathEngine.Algorithm algorithm;
+
+    CsrGraph graph;
+    int src;
+    int dst;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.create(vertices, density, seed, edgeStrategy).freeze();
+        src = 0;
+        dst = graph.vertexCount() - 1; // the same pair the workers search between
+    }
+
+    @Benchmark
+    public PathResult search() {
+        return PathEngine.shortestPath(graph, src, dst, algorithm);
+    }
+}
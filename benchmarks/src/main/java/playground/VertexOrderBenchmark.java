@@ -0,0 +1,57 @@
+package playground;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Dijkstra and A* on a graph numbered in placement order against the same graph
+ * renumbered along a Hilbert curve or in Reverse Cuthill-McKee order. Every order answers
+ * the same queries. Run with -prof perfnorm on Linux to see the cache misses per query.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VertexOrderBenchmark {
+
+    @Param({"100000", "1000000"})
+    int vertices;
+
+    @Param({"42"})
+    long seed;
+
+    @Param({"NONE", "HILBERT", "REVERSE_CUTHILL_MCKEE"})
+    String order;
+
+    @Param({"DIJKSTRA", "ASTAR"})
+    PathEngine.Algorithm algorithm;
+
+    CsrGraph graph;
+    int[] newIndex; // newIndex[v] is the index vertex v of the unordered graph has in this one
+    SplittableRandom queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Graph g = BenchmarkGraphs.create(vertices, 0, seed, Graph.EdgeStrategy.NEAREST);
+        if (!order.equals("NONE")) {
+            g = g.renumbered(VertexOrder.of(g.freeze(), VertexOrder.Strategy.valueOf(order)));
+        }
+        graph = g.freeze();
+        newIndex = new int[graph.vertexCount()];
+        for (int v = 0; v < newIndex.length; v++) {
+            newIndex[g.originalIndex(v)] = v;
+        }
+        queries = new SplittableRandom(seed);
+    }
+
+    @Benchmark
+    public PathResult query() {
+        int src = newIndex[queries.nextInt(graph.vertexCount())];
+        int dst = newIndex[queries.nextInt(graph.vertexCount())];
+        return PathEngine.shortestPath(graph, src, dst, algorithm);
+    }
+}
@@ -0,0 +1,62 @@
+package playground;
+
+import java.util.Arrays;
+
+/**
+ * The state changes of a search waiting to be shown, a vertex and a {@link VertexState} byte
+ * each, in a ring of two primitive arrays that doubles when it fills up. The search appends on
+ * its own thread at full speed, the EDT copies a frame's worth from the front and then drops
+ * what it played, so the two only meet for a moment twice per frame and nothing is allocated
+ * per step.
+ */
+class AnimationBuffer {
+
+    private int[] vertices = new int[1024]; // the capacity is kept a power of two
+    private byte[] states = new byte[1024];
+    private int head = 0; // the oldest entry
+    private int size = 0;
+
+    synchronized void add(int vertex, byte state) {
+        if (size == vertices.length) {
+            grow();
+        }
+        int at = (head + size) & (vertices.length - 1);
+        vertices[at] = vertex;
+        states[at] = state;
+        size++;
+    }
+
+    /**
+     * Copies up to MAX of the oldest entries into VERTICES and STATES without removing them and
+     * returns how many were copied.
+     */
+    synchronized int peek(int[] vertices, byte[] states, int max) {
+        int count = Math.min(max, size);
+        int first = Math.min(count, this.vertices.length - head); // the part before the ring wraps around
+        System.arraycopy(this.vertices, head, vertices, 0, first);
+        System.arraycopy(this.states, head, states, 0, first);
+        System.arraycopy(this.vertices, 0, vertices, first, count - first);
+        System.arraycopy(this.states, 0, states, first, count - first);
+        return count;
+    }
+
+    /** Drops the COUNT oldest entries, which must have been peeked at. */
+    synchronized void remove(int count) {
+        head = (head + count) & (vertices.length - 1);
+        size -= count;
+    }
+
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void grow() {
+        int capacity = vertices.length;
+        int[] grownVertices = Arrays.copyOf(vertices, capacity * 2);
+        byte[] grownStates = Arrays.copyOf(states, capacity * 2);
+        System.arraycopy(vertices, 0, grownVertices, capacity, head); // unwrap the ring
+        System.arraycopy(states, 0, grownStates, capacity, head);
+        vertices = grownVertices;
+        states = grownStates;
+    }
+}
@@ -0,0 +1,62 @@
+package playground;
+
+public class AstarWorker extends DfsWorker{
+
+    private final LazyHeuristic heuristic = new LazyHeuristic(adjacency.vertexCount(), this::bound);
+    private Landmarks landmarks = null; // ALT preprocessing, null when it is turned off
+    private volatile Landmarks bounds = null; // the landmarks the bounds use, null once a drag made them stale
+
+
+    public AstarWorker(Vertex start, Vertex end, GraphPanel graphPanel) {
+        super(start, end, graphPanel);
+    }
+
+    @Override
+    protected PathResult search() throws Exception {
+        landmarks = graphPanel.landmarksFor(adjacency, true); // may run the preprocessing
+        bounds = landmarks;
+        return PathEngine.astar(adjacency, startVertex.index, endVertex.index, heuristic, animation);
+    }
+
+    @Override
+    protected PathEngine.Algorithm algorithm() {
+        return PathEngine.Algorithm.ASTAR;
+    }
+
+    @Override
+    protected int delayFor(byte state) {
+        if (state == VertexState.VISITED || state == VertexState.PATH) {
+            return graphPanel.animationDelay;
+        }
+        return 0;
+    }
+
+    @Override
+    protected String describe(PathResult result) {
+        String line = super.describe(result);
+        return landmarks == null ? line : line + " using " + landmarks.count() + " landmarks";
+    }
+
+    /**
+     * Called on the EDT after V was dragged. Only V's bound changes, unless the landmarks were in
+     * use, which the move made stale, or V is the end vertex: then every bound does.
+     */
+    public void vertexMoved(Vertex v) {
+        if (bounds != null || v == endVertex) {
+            bounds = null;
+            heuristic.invalidateAll();
+        } else {
+            heuristic.invalidate(v.index);
+        }
+    }
+
+    /**
+     * Returns the straight line distance from V to the end vertex, or the landmark bound if that is tighter.
+     */
+    private double bound(int v) {
+        int end = endVertex.index;
+        double h = Graph.dist(adjacency.x(v), adjacency.y(v), adjacency.x(end), adjacency.y(end));
+        Landmarks valid = bounds;
+        return valid == null ? h : Math.max(h, valid.lowerBound(v, end));
+    }
+}
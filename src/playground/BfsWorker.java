@@ -0,0 +1,26 @@
+package playground;
+
+public class BfsWorker extends DfsWorker { // all the same functionality as Dfsworker but with different
+
+    public BfsWorker(Vertex start, Vertex end, GraphPanel graphPanel) {
+        super(start, end, graphPanel);
+    }
+
+    @Override
+    protected PathResult search() throws Exception {
+        return PathEngine.bfs(adjacency, startVertex.index, endVertex.index, animation);
+    }
+
+    @Override
+    protected PathEngine.Algorithm algorithm() {
+        return PathEngine.Algorithm.BFS;
+    }
+
+    @Override
+    protected int delayFor(byte state) {
+        if (state == VertexState.VISITED || state == VertexState.PATH) {
+            return graphPanel.animationDelay; // pause after every newly found vertex and path step
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,59 @@
+package playground;
+
+public class BidirectionalAstarWorker extends DfsWorker{
+
+    private final LazyHeuristic forwardHeuristic = new LazyHeuristic(adjacency.vertexCount(),
+            v -> distance(v, endVertex.index));
+    private final LazyHeuristic backwardHeuristic = new LazyHeuristic(adjacency.vertexCount(),
+            v -> distance(v, startVertex.index));
+
+
+    public BidirectionalAstarWorker(Vertex start, Vertex end, GraphPanel graphPanel) {
+        super(start, end, graphPanel);
+    }
+
+    @Override
+    protected PathResult search() throws Exception {
+        if (graphPanel.parallelBidirectional) {
+            return PathEngine.parallelBidirectionalAstar(adjacency, startVertex.index, endVertex.index,
+                    forwardHeuristic, backwardHeuristic, animation);
+        }
+        return PathEngine.bidirectionalAstar(adjacency, startVertex.index, endVertex.index,
+                forwardHeuristic, backwardHeuristic, animation);
+    }
+
+    @Override
+    protected PathEngine.Algorithm algorithm() {
+        return PathEngine.Algorithm.BIDIRECTIONAL_ASTAR;
+    }
+
+    @Override
+    protected int delayFor(byte state) {
+        if (state == VertexState.VISITED || state == VertexState.BACKWARD_VISITED || state == VertexState.PATH) {
+            return graphPanel.animationDelay / 2; // both directions take about as many steps
+        }
+        return 0;
+    }
+
+    /**
+     * Called on the EDT after V was dragged. Only V's bounds change, unless V is one of the ends,
+     * then every bound towards it does.
+     */
+    public void vertexMoved(Vertex v) {
+        if (v == endVertex) {
+            forwardHeuristic.invalidateAll();
+        } else {
+            forwardHeuristic.invalidate(v.index);
+        }
+        if (v == startVertex) {
+            backwardHeuristic.invalidateAll();
+        } else {
+            backwardHeuristic.invalidate(v.index);
+        }
+    }
+
+    /** Returns the straight line distance between U and V at their current positions. */
+    private double distance(int u, int v) {
+        return Graph.dist(adjacency.x(u), adjacency.y(u), adjacency.x(v), adjacency.y(v));
+    }
+}
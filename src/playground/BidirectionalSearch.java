@@ -0,0 +1,230 @@
+package playground;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bidirectional A* with consistent potentials. The forward search uses the potential
+ * (forward estimate - backward estimate) / 2 and the backward search its negation, so both
+ * search the same reduced graph and a vertex settled by one side can't be improved by the
+ * other. Whenever a side reaches a vertex the other side has a distance for, the path through it
+ * is a candidate for mu, the best path so far. The search is done once the smallest keys of the
+ * two queues add up to at least mu, at which point no path through an unsettled vertex can be
+ * shorter. Meeting first is not enough, the first meeting vertex isn't always on a shortest path.
+ *
+ * The two sides can take turns on one thread or run on two threads. On two threads they share
+ * mu through an atomic reference and read each other's distances with volatile accesses, so
+ * for every edge between the two searches at least one side sees the other's distance.
+ */
+class BidirectionalSearch {
+
+    private static final VarHandle DIST = MethodHandles.arrayElementVarHandle(double[].class);
+
+    private final GraphStore graph;
+    private final int src, dst;
+    private final Heuristic forwardHeuristic, backwardHeuristic;
+    private final SearchListener listener;
+    private final boolean concurrent;
+    private final Side forward, backward;
+    private final AtomicReference<Meeting> best = new AtomicReference<>(new Meeting(Double.POSITIVE_INFINITY, -1));
+    private volatile boolean stopped = false;
+
+    BidirectionalSearch(GraphStore graph, int src, int dst, Heuristic forwardHeuristic, Heuristic backwardHeuristic,
+                        SearchListener listener, boolean concurrent) {
+        this.graph = graph;
+        this.src = src;
+        this.dst = dst;
+        this.forwardHeuristic = forwardHeuristic;
+        this.backwardHeuristic = backwardHeuristic;
+        this.listener = listener;
+        this.concurrent = concurrent;
+        forward = new Side(true);
+        backward = new Side(false);
+        forward.other = backward;
+        backward.other = forward;
+        forward.start(src);
+        backward.start(dst);
+        if (src == dst) {
+            best.set(new Meeting(0, src));
+        }
+    }
+
+    /**
+     * Lets the side with the smaller key settle the next vertex until the two keys add up to mu.
+     */
+    PathResult run() {
+        while (forward.topKey + backward.topKey < best.get().cost) {
+            if (forward.topKey <= backward.topKey) {
+                forward.step();
+            } else {
+                backward.step();
+            }
+        }
+        return result();
+    }
+
+    /**
+     * Runs the backward side on a second thread while the calling thread runs the forward side.
+     */
+    PathResult runConcurrently() {
+        Throwable[] failure = new Throwable[1];
+        Thread backwardThread = new Thread(() -> {
+            try {
+                backward.runAlone();
+            } catch (Throwable t) {
+                failure[0] = t;
+                stopped = true;
+            }
+        }, "backward search");
+        backwardThread.setDaemon(true);
+        backwardThread.start();
+        try {
+            forward.runAlone();
+        } finally {
+            stopped = true; // on cancellation, take the other side down too
+            boolean interrupted = false;
+            while (backwardThread.isAlive()) {
+                try {
+                    backwardThread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure[0] instanceof RuntimeException) {
+            throw (RuntimeException) failure[0];
+        } else if (failure[0] != null) {
+            throw new IllegalStateException(failure[0]);
+        }
+        return result();
+    }
+
+    private PathResult result() {
+        int settled = forward.settled + backward.settled;
+        int relaxed = forward.relaxed + backward.relaxed;
+        Meeting meeting = best.get();
+        if (meeting.vertex < 0) {
+            return PathResult.notFound(settled, relaxed);
+        }
+        int[] path = src == dst ? new int[] {src}
+                : PathEngine.joinPaths(forward.parent, backward.parent, src, meeting.vertex, dst);
+        listener.clearMarks();
+        for (int v : path) {
+            if (v != src && v != dst) {
+                listener.mark(v, VertexState.PATH);
+            }
+        }
+        return new PathResult(path, forward.dist[meeting.vertex] + backward.dist[meeting.vertex], settled, relaxed);
+    }
+
+    /** Lowers mu to COST through VERTEX, unless another path is already as short. */
+    private void offer(double cost, int vertex) {
+        Meeting current = best.get();
+        while (cost < current.cost) {
+            if (best.compareAndSet(current, new Meeting(cost, vertex))) {
+                return;
+            }
+            current = best.get();
+        }
+    }
+
+    private static class Meeting {
+        final double cost;
+        final int vertex;
+
+        Meeting(double cost, int vertex) {
+            this.cost = cost;
+            this.vertex = vertex;
+        }
+    }
+
+    /**
+     * One direction of the search, with its own distances, parents and queue.
+     */
+    private class Side {
+        final boolean isForward;
+        final double[] dist;
+        final int[] parent;
+        final boolean[] closed;
+        final IndexedMinHeap pq;
+        Side other;
+        volatile double topKey; // the smallest key in the queue, infinity once it is empty
+        int settled = 0;
+        int relaxed = 0;
+
+        Side(boolean isForward) {
+            int n = graph.vertexCount();
+            this.isForward = isForward;
+            dist = new double[n];
+            parent = new int[n];
+            closed = new boolean[n];
+            pq = new IndexedMinHeap(n);
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        }
+
+        void start(int v) {
+            dist[v] = 0;
+            pq.insert(v, potential(v));
+            topKey = pq.peekPriority();
+        }
+
+        double potential(int v) {
+            double p = (forwardHeuristic.estimate(v) - backwardHeuristic.estimate(v)) / 2;
+            return isForward ? p : -p;
+        }
+
+        /**
+         * Settles the next vertex of this side until its key and the last key the other side
+         * published add up to mu. The other key only grows, so a stale one is on the safe side.
+         */
+        void runAlone() {
+            while (!stopped && topKey + other.topKey < best.get().cost) {
+                step();
+            }
+        }
+
+        void step() {
+            int v = pq.poll();
+            closed[v] = true;
+            settled++;
+            if (v != src && v != dst) {
+                listener.mark(v, isForward ? VertexState.VISITED : VertexState.BACKWARD_VISITED);
+            }
+            for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                relaxed++;
+                int u = graph.target(e);
+                if (closed[u]) {
+                    continue;
+                }
+                double newDist = dist[v] + graph.weight(e);
+                if (newDist < dist[u]) {
+                    write(u, newDist);
+                    parent[u] = v;
+                    pq.insertOrDecrease(u, newDist + potential(u));
+                    double otherDist = other.read(u);
+                    if (otherDist != Double.POSITIVE_INFINITY) {
+                        offer(newDist + otherDist, u);
+                    }
+                }
+            }
+            topKey = pq.isEmpty() ? Double.POSITIVE_INFINITY : pq.peekPriority();
+        }
+
+        void write(int v, double d) {
+            if (concurrent) {
+                DIST.setVolatile(dist, v, d);
+            } else {
+                dist[v] = d;
+            }
+        }
+
+        double read(int v) {
+            return concurrent ? (double) DIST.getVolatile(dist, v) : dist[v];
+        }
+    }
+}
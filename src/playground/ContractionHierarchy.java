@@ -0,0 +1,463 @@
+package playground;
+
+import java.util.Arrays;
+
+/**
+ * Contraction Hierarchies for fast repeated point to point queries on a graph that doesn't change.
+ * Preprocessing contracts the vertices one at a time, least important first, and adds a shortcut
+ * between two neighbors of the contracted vertex whenever the path through it is the only shortest
+ * path between them. A query then only has to search upwards in that order from both ends, which
+ * touches a few hundred vertices instead of a large part of the graph. Shortcuts remember the
+ * vertex they skip, so the paths unpack back to the original vertices. A hierarchy can be saved
+ * with its graph in a GraphFile.
+ */
+public class ContractionHierarchy {
+
+    static final int WITNESS_SETTLE_LIMIT = 200; // give up looking for a witness path after this many vertices
+
+    final int[] rank; // rank[v] is the position of v in the contraction order
+    final int[] offsets; // upward edges of v are offsets[v] .. offsets[v + 1] - 1
+    final int[] targets; // the higher ranked end of every upward edge
+    final double[] weights;
+    final int[] middles; // the vertex a shortcut skips, -1 for an original edge
+    private final CsrGraph graph;
+    private final int version;
+
+    ContractionHierarchy(CsrGraph graph, int[] rank, int[] offsets, int[] targets, double[] weights, int[] middles) {
+        this.graph = graph;
+        this.version = graph.version();
+        this.rank = rank;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.middles = middles;
+    }
+
+    public int vertexCount() {
+        return rank.length;
+    }
+
+    /**
+     * Returns true if this hierarchy was built on GRAPH and none of its weights changed since.
+     */
+    public boolean isValidFor(CsrGraph graph) {
+        return this.graph == graph && this.version == graph.version();
+    }
+
+    /** Returns the number of upward edges, original edges and shortcuts. */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Contracts every vertex of GRAPH and builds the hierarchy.
+     */
+    public static ContractionHierarchy build(CsrGraph graph) {
+        return new Builder(graph).build();
+    }
+
+    /**
+     * Returns the shortest path from SRC to DST as original vertex indices.
+     * Allocates its search arrays, use {@link #newQuery()} to run many queries.
+     */
+    public PathResult query(int src, int dst) {
+        return newQuery().run(src, dst);
+    }
+
+    /** Returns a reusable query that keeps its search arrays between runs. Not thread safe. */
+    public Query newQuery() {
+        return new Query();
+    }
+
+    /**
+     * A bidirectional Dijkstra search that only follows upward edges. The search arrays are reset
+     * through a list of touched vertices, so a query costs nothing per vertex it doesn't touch.
+     */
+    public class Query {
+        private final double[] forwardDist = new double[vertexCount()];
+        private final double[] backwardDist = new double[vertexCount()];
+        private final int[] forwardParentEdge = new int[vertexCount()];
+        private final int[] backwardParentEdge = new int[vertexCount()];
+        private final IndexedMinHeap forwardPq = new IndexedMinHeap(vertexCount());
+        private final IndexedMinHeap backwardPq = new IndexedMinHeap(vertexCount());
+        private int[] touched = new int[64];
+        private int touchedCount = 0;
+
+        Query() {
+            Arrays.fill(forwardDist, Double.POSITIVE_INFINITY);
+            Arrays.fill(backwardDist, Double.POSITIVE_INFINITY);
+        }
+
+        public PathResult run(int src, int dst) {
+            reset();
+            touch(src);
+            touch(dst);
+            forwardDist[src] = 0;
+            backwardDist[dst] = 0;
+            forwardParentEdge[src] = -1;
+            backwardParentEdge[dst] = -1;
+            forwardPq.insert(src, 0);
+            backwardPq.insert(dst, 0);
+            double best = src == dst ? 0 : Double.POSITIVE_INFINITY; // mu, the shortest path seen so far
+            int meet = src == dst ? src : -1;
+            int settled = 0;
+            int relaxed = 0;
+
+            while (!forwardPq.isEmpty() || !backwardPq.isEmpty()) {
+                double forwardMin = forwardPq.isEmpty() ? Double.POSITIVE_INFINITY : forwardPq.peekPriority();
+                double backwardMin = backwardPq.isEmpty() ? Double.POSITIVE_INFINITY : backwardPq.peekPriority();
+                if (Math.min(forwardMin, backwardMin) >= best) {
+                    break; // neither side can find anything shorter anymore
+                }
+                boolean forward = forwardMin <= backwardMin;
+                IndexedMinHeap pq = forward ? forwardPq : backwardPq;
+                double[] dist = forward ? forwardDist : backwardDist;
+                double[] otherDist = forward ? backwardDist : forwardDist;
+                int[] parentEdge = forward ? forwardParentEdge : backwardParentEdge;
+
+                int v = pq.poll();
+                settled++;
+                if (dist[v] + otherDist[v] < best) {
+                    best = dist[v] + otherDist[v];
+                    meet = v;
+                }
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    relaxed++;
+                    int u = targets[e];
+                    double newDist = dist[v] + weights[e];
+                    if (newDist < dist[u]) {
+                        touch(u);
+                        dist[u] = newDist;
+                        parentEdge[u] = e;
+                        pq.insertOrDecrease(u, newDist);
+                    }
+                }
+            }
+            if (meet < 0) {
+                return PathResult.notFound(settled, relaxed);
+            }
+            return new PathResult(unpackPath(src, dst, meet), best, settled, relaxed);
+        }
+
+        private void touch(int v) {
+            if (forwardDist[v] != Double.POSITIVE_INFINITY || backwardDist[v] != Double.POSITIVE_INFINITY) {
+                return; // already on the list
+            }
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = v;
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                forwardDist[touched[i]] = Double.POSITIVE_INFINITY;
+                backwardDist[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            touchedCount = 0;
+            forwardPq.clear();
+            backwardPq.clear();
+        }
+
+        /**
+         * Walks both search trees back from MEET and replaces every shortcut by the original edges.
+         */
+        private int[] unpackPath(int src, int dst, int meet) {
+            IntList path = new IntList();
+            // the forward tree goes src .. meet, collect it backwards and reverse
+            IntList forwardEdges = new IntList();
+            for (int v = meet; v != src; v = source(forwardParentEdge[v])) {
+                forwardEdges.add(forwardParentEdge[v]);
+            }
+            path.add(src);
+            for (int i = forwardEdges.size - 1; i >= 0; i--) {
+                int e = forwardEdges.get(i);
+                unpackEdge(source(e), targets[e], middles[e], path);
+            }
+            for (int v = meet; v != dst; ) {
+                int e = backwardParentEdge[v];
+                int next = source(e);
+                unpackEdge(v, next, middles[e], path);
+                v = next;
+            }
+            return path.toArray();
+        }
+    }
+
+    /**
+     * Returns the lower ranked end of upward edge E, the vertex whose edge list holds it.
+     */
+    int source(int e) {
+        int lo = 0;
+        int hi = rank.length - 1;
+        while (lo < hi) { // the last vertex whose first edge is at or before e
+            int mid = (lo + hi + 1) >>> 1;
+            if (offsets[mid] <= e) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Appends the original vertices of the edge FROM - TO after FROM, TO included.
+     * A shortcut is replaced by its two halves, which are upward edges of the skipped vertex.
+     */
+    private void unpackEdge(int from, int to, int middle, IntList path) {
+        if (middle < 0) {
+            path.add(to);
+            return;
+        }
+        int[] stack = new int[16]; // pairs still to unpack, the next one on top
+        int top = 0;
+        stack[top++] = middle;
+        stack[top++] = to;
+        stack[top++] = from;
+        stack[top++] = middle;
+        while (top > 0) {
+            int b = stack[--top];
+            int a = stack[--top];
+            int m = middleBetween(a, b);
+            if (m < 0) {
+                path.add(b);
+                continue;
+            }
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = m; // second half, unpacked after the first
+            stack[top++] = b;
+            stack[top++] = a;
+            stack[top++] = m;
+        }
+    }
+
+    /**
+     * Returns the middle of the edge between A and B, which is stored upward from the lower ranked one.
+     */
+    private int middleBetween(int a, int b) {
+        int low = rank[a] < rank[b] ? a : b;
+        int high = low == a ? b : a;
+        for (int e = offsets[low]; e < offsets[low + 1]; e++) {
+            if (targets[e] == high) {
+                return middles[e];
+            }
+        }
+        throw new IllegalStateException("no edge between " + a + " and " + b);
+    }
+
+    /**
+     * Contracts the vertices of a graph. Every vertex keeps a growable list of its edges, original
+     * ones and shortcuts, and contracted vertices are skipped instead of removed. The next vertex
+     * to contract is the one with the smallest edge difference (shortcuts added minus edges removed)
+     * plus the number of neighbors already contracted, which keeps the hierarchy flat.
+     */
+    private static class Builder {
+        private final CsrGraph graph;
+        private final int n;
+        private final int[][] neighbors;
+        private final double[][] edgeWeights;
+        private final int[][] edgeMiddles;
+        private final int[] degree;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbors;
+        private final int[] rank;
+
+        // witness search state, reset through the touched list
+        private final double[] witnessDist;
+        private final IndexedMinHeap witnessPq;
+        private final IntList witnessTouched = new IntList();
+
+        Builder(CsrGraph graph) {
+            this.graph = graph;
+            n = graph.vertexCount();
+            neighbors = new int[n][];
+            edgeWeights = new double[n][];
+            edgeMiddles = new int[n][];
+            degree = new int[n];
+            contracted = new boolean[n];
+            contractedNeighbors = new int[n];
+            rank = new int[n];
+            witnessDist = new double[n];
+            Arrays.fill(witnessDist, Double.POSITIVE_INFINITY);
+            witnessPq = new IndexedMinHeap(n);
+            for (int v = 0; v < n; v++) {
+                int d = graph.degree(v);
+                neighbors[v] = new int[Math.max(4, d)];
+                edgeWeights[v] = new double[Math.max(4, d)];
+                edgeMiddles[v] = new int[Math.max(4, d)];
+            }
+            for (int v = 0; v < n; v++) {
+                for (int e = graph.begin(v); e < graph.end(v); e++) {
+                    addOrImprove(v, graph.target(e), graph.weight(e), -1);
+                }
+            }
+        }
+
+        ContractionHierarchy build() {
+            IndexedMinHeap order = new IndexedMinHeap(n);
+            for (int v = 0; v < n; v++) {
+                order.insert(v, priority(v));
+            }
+            int next = 0;
+            while (!order.isEmpty()) {
+                int v = order.poll();
+                double updated = priority(v); // lazy update: the priority may have grown since it was queued
+                if (!order.isEmpty() && updated > order.peekPriority()) {
+                    order.insert(v, updated);
+                    continue;
+                }
+                contract(v, true);
+                contracted[v] = true;
+                rank[v] = next++;
+                for (int i = 0; i < degree[v]; i++) {
+                    int u = neighbors[v][i];
+                    if (!contracted[u]) {
+                        contractedNeighbors[u]++;
+                    }
+                }
+            }
+            return upwardGraph();
+        }
+
+        private double priority(int v) {
+            int removed = 0;
+            for (int i = 0; i < degree[v]; i++) {
+                if (!contracted[neighbors[v][i]]) {
+                    removed++;
+                }
+            }
+            return contract(v, false) - removed + contractedNeighbors[v];
+        }
+
+        /**
+         * Finds the shortcuts contracting V needs and adds them if ADD is true.
+         * Returns the number of shortcuts.
+         */
+        private int contract(int v, boolean add) {
+            int shortcuts = 0;
+            for (int i = 0; i < degree[v]; i++) {
+                int u = neighbors[v][i];
+                if (contracted[u]) {
+                    continue;
+                }
+                double maxVia = 0; // the longest path through v that starts at u
+                for (int j = i + 1; j < degree[v]; j++) {
+                    if (!contracted[neighbors[v][j]]) {
+                        maxVia = Math.max(maxVia, edgeWeights[v][i] + edgeWeights[v][j]);
+                    }
+                }
+                if (maxVia == 0) {
+                    continue;
+                }
+                witnessSearch(u, v, maxVia);
+                for (int j = i + 1; j < degree[v]; j++) {
+                    int w = neighbors[v][j];
+                    if (contracted[w]) {
+                        continue;
+                    }
+                    double via = edgeWeights[v][i] + edgeWeights[v][j];
+                    if (witnessDist[w] <= via) {
+                        continue; // a path that avoids v is as short
+                    }
+                    shortcuts++;
+                    if (add) {
+                        addOrImprove(u, w, via, v);
+                        addOrImprove(w, u, via, v);
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Dijkstra from SOURCE over the vertices not contracted yet, avoiding SKIPPED,
+         * up to distance MAX_DIST or until the settle limit is reached.
+         */
+        private void witnessSearch(int source, int skipped, double maxDist) {
+            for (int i = 0; i < witnessTouched.size; i++) {
+                witnessDist[witnessTouched.get(i)] = Double.POSITIVE_INFINITY;
+            }
+            witnessTouched.size = 0;
+            witnessPq.clear();
+            witnessDist[source] = 0;
+            witnessTouched.add(source);
+            witnessPq.insert(source, 0);
+            int settled = 0;
+            while (!witnessPq.isEmpty() && settled < WITNESS_SETTLE_LIMIT) {
+                int x = witnessPq.poll();
+                settled++;
+                if (witnessDist[x] > maxDist) {
+                    break;
+                }
+                for (int i = 0; i < degree[x]; i++) {
+                    int y = neighbors[x][i];
+                    if (y == skipped || contracted[y]) {
+                        continue;
+                    }
+                    double newDist = witnessDist[x] + edgeWeights[x][i];
+                    if (newDist < witnessDist[y]) {
+                        if (witnessDist[y] == Double.POSITIVE_INFINITY) {
+                            witnessTouched.add(y);
+                        }
+                        witnessDist[y] = newDist;
+                        witnessPq.insertOrDecrease(y, newDist);
+                    }
+                }
+            }
+        }
+
+        private void addOrImprove(int from, int to, double weight, int middle) {
+            for (int i = 0; i < degree[from]; i++) {
+                if (neighbors[from][i] == to) {
+                    if (weight < edgeWeights[from][i]) {
+                        edgeWeights[from][i] = weight;
+                        edgeMiddles[from][i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (degree[from] == neighbors[from].length) {
+                int capacity = degree[from] * 2;
+                neighbors[from] = Arrays.copyOf(neighbors[from], capacity);
+                edgeWeights[from] = Arrays.copyOf(edgeWeights[from], capacity);
+                edgeMiddles[from] = Arrays.copyOf(edgeMiddles[from], capacity);
+            }
+            neighbors[from][degree[from]] = to;
+            edgeWeights[from][degree[from]] = weight;
+            edgeMiddles[from][degree[from]] = middle;
+            degree[from]++;
+        }
+
+        /** Keeps every edge only at its lower ranked end. */
+        private ContractionHierarchy upwardGraph() {
+            int[] offsets = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                int up = 0;
+                for (int i = 0; i < degree[v]; i++) {
+                    if (rank[neighbors[v][i]] > rank[v]) {
+                        up++;
+                    }
+                }
+                offsets[v + 1] = offsets[v] + up;
+            }
+            int[] targets = new int[offsets[n]];
+            double[] weights = new double[offsets[n]];
+            int[] middles = new int[offsets[n]];
+            for (int v = 0; v < n; v++) {
+                int e = offsets[v];
+                for (int i = 0; i < degree[v]; i++) {
+                    if (rank[neighbors[v][i]] > rank[v]) {
+                        targets[e] = neighbors[v][i];
+                        weights[e] = edgeWeights[v][i];
+                        middles[e] = edgeMiddles[v][i];
+                        e++;
+                    }
+                }
+            }
+            return new ContractionHierarchy(graph, rank, offsets, targets, weights, middles);
+        }
+    }
+}
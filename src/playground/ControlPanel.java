@@ -1,9 +1,12 @@
+package playground;
+
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -16,6 +19,7 @@ public class ControlPanel extends JPanel {
     private DijkstrasWorker currentDijkstrasWorker = null;
     private AstarWorker currentAstarWorker = null;
     private BidirectionalAstarWorker currentBidirectionalAstarWorker = null;
+    private ReplanningAstarWorker currentReplanningWorker = null;
 
     public ControlPanel(GraphPanel graphPanel) {
 
@@ -118,6 +122,25 @@ public class ControlPanel extends JPanel {
         add(BidirectionalAstarButton);
         add(Box.createRigidArea(new Dimension(0, 10)));
 
+        // LPA*, keeps repairing the path while vertices are dragged
+        JButton replanningButton = new JButton("Run LPA* (Replans On Drag)");
+        replanningButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+        replanningButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                cancelRunningThreads(graphPanel);
+
+                currentReplanningWorker = graphPanel.startReplanningAstar();
+
+                if (currentReplanningWorker != null) {
+                    graphPanel.currentReplanningWorker = currentReplanningWorker;
+                    currentReplanningWorker.execute();
+                }
+            }
+        });
+        add(replanningButton);
+        add(Box.createRigidArea(new Dimension(0, 10)));
+
         JLabel numVerticesLabel = new JLabel("Number of Vertices:");
         numVerticesLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         add(numVerticesLabel);
@@ -150,6 +173,24 @@ public class ControlPanel extends JPanel {
         });
         add(showWeightsCheckbox);
 
+        JCheckBox landmarksCheckbox = new JCheckBox("A* With Landmarks (ALT)", graphPanel.useLandmarks);
+        landmarksCheckbox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        landmarksCheckbox.addActionListener(e -> graphPanel.useLandmarks = landmarksCheckbox.isSelected());
+        add(landmarksCheckbox);
+
+        JComboBox<Landmarks.Strategy> strategyBox = new JComboBox<>(Landmarks.Strategy.values());
+        strategyBox.setSelectedItem(graphPanel.landmarkStrategy());
+        strategyBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        strategyBox.setMaximumSize(strategyBox.getPreferredSize());
+        strategyBox.setToolTipText("How the landmarks are picked: PLANAR in parallel, FARTHEST one by one");
+        strategyBox.addActionListener(e -> graphPanel.setLandmarkStrategy((Landmarks.Strategy) strategyBox.getSelectedItem()));
+        add(strategyBox);
+
+        JCheckBox parallelCheckbox = new JCheckBox("Bidirectional A* On Two Threads", graphPanel.parallelBidirectional);
+        parallelCheckbox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        parallelCheckbox.addActionListener(e -> graphPanel.parallelBidirectional = parallelCheckbox.isSelected());
+        add(parallelCheckbox);
+
         add(Box.createRigidArea(new Dimension(0, 5)));
         JButton newGraphButton = new JButton("Create Graph");
         newGraphButton.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -161,11 +202,27 @@ public class ControlPanel extends JPanel {
         });
         add(newGraphButton);
 
+        add(Box.createRigidArea(new Dimension(0, 5)));
+        JButton saveGraphButton = new JButton("Save Graph");
+        saveGraphButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+        saveGraphButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            try {
+                graphPanel.save(chooser.getSelectedFile().toPath()); // with the landmarks and hierarchy, if still valid
+            } catch (IOException ex) {
+                JOptionPane.showMessageDialog(this, "Could not save the graph: " + ex.getMessage());
+            }
+        });
+        add(saveGraphButton);
+
 
         add(Box.createRigidArea(new Dimension(0, 15)));
 
         ////////////////////////////////////Slider
-        JSlider animationSpeedSlider = new JSlider(JSlider.HORIZONTAL, 50, 1000, 250); //min, max, init
+        JSlider animationSpeedSlider = new JSlider(JSlider.HORIZONTAL, 0, 1000, 250); //min, max, init, 0 plays back as fast as a frame allows
         animationSpeedSlider.setAlignmentX(Component.CENTER_ALIGNMENT);
         JLabel animationSpeedLabel = new JLabel("Animation Delay: " + animationSpeedSlider.getValue() + "ms");
         animationSpeedLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -185,6 +242,21 @@ public class ControlPanel extends JPanel {
         add(Box.createRigidArea(new Dimension(0, 10))); //spacing after slider
         graphPanel.animationDelay = animationSpeedSlider.getValue(); //set it to the initial value the first time
 
+        // the playback's rate with no delay, in powers of two
+        int initialShift = Integer.numberOfTrailingZeros(graphPanel.stepsPerFrame);
+        JSlider stepsSlider = new JSlider(JSlider.HORIZONTAL, 0, 16, initialShift); //min, max, init
+        stepsSlider.setAlignmentX(Component.CENTER_ALIGNMENT);
+        JLabel stepsLabel = new JLabel("Steps per frame: " + graphPanel.stepsPerFrame);
+        stepsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        add(stepsLabel);
+        add(Box.createRigidArea(new Dimension(0, 5)));
+        stepsSlider.addChangeListener(e -> {
+            graphPanel.stepsPerFrame = 1 << stepsSlider.getValue();
+            stepsLabel.setText("Steps per frame: " + graphPanel.stepsPerFrame);
+        });
+        add(stepsSlider);
+        add(Box.createRigidArea(new Dimension(0, 10)));
+
 
         ////////////////////////////////////Slider 2
         JSlider graphDensitySlider = new JSlider(JSlider.HORIZONTAL, 0,  50, 0); //min, max, init
@@ -212,33 +284,39 @@ public class ControlPanel extends JPanel {
         add(Box.createRigidArea(new Dimension(0, 10)));
     }
 
+    /**
+     * Stops every worker that was started, including those whose search is done but whose
+     * playback is still behind, and turns the vertices gray again.
+     */
     public void cancelRunningThreads(GraphPanel graphPanel) {
-        if (currentBfsWorker != null && !currentBfsWorker.isDone()) {
-            currentBfsWorker.cancel(true);
+        if (currentBfsWorker != null) {
+            currentBfsWorker.stop();
             currentBfsWorker = null;
         }
-        if (currentDfsWorker != null && !currentDfsWorker.isDone()) {
-            currentDfsWorker.cancel(true);
+        if (currentDfsWorker != null) {
+            currentDfsWorker.stop();
             currentDfsWorker = null;
         }
-        if (currentDijkstrasWorker != null && !currentDijkstrasWorker.isDone()) {
-            currentDijkstrasWorker.cancel(true);
+        if (currentDijkstrasWorker != null) {
+            currentDijkstrasWorker.stop();
             currentDijkstrasWorker = null;
         }
-        if (currentAstarWorker != null && !currentAstarWorker.isDone()) {
-            currentAstarWorker.cancel(true);
+        if (currentAstarWorker != null) {
+            currentAstarWorker.stop();
             currentAstarWorker = null;
             graphPanel.currentAstarWorker = null;
         }
-        if (currentBidirectionalAstarWorker != null && !currentBidirectionalAstarWorker.isDone()) {
-            currentBidirectionalAstarWorker.cancel(true);
+        if (currentBidirectionalAstarWorker != null) {
+            currentBidirectionalAstarWorker.stop();
             currentBidirectionalAstarWorker = null;
             graphPanel.currentBidirectionalAstarWorker = null;
         }
-
-        // reset colors
-        for (Vertex v : graphPanel.graph.vertices) {
-            v.color = Color.GRAY;
+        if (currentReplanningWorker != null) {
+            currentReplanningWorker.stop();
+            currentReplanningWorker = null;
+            graphPanel.currentReplanningWorker = null;
         }
+
+        graphPanel.resetColors();
     }
 }
\ No newline at end of file
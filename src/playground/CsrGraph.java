@@ -0,0 +1,157 @@
+package playground;
+
+import java.util.Map;
+
+/**
+ * A frozen copy of a Graph's adjacency in compressed sparse row (CSR) form.
+ * The arcs leaving vertex v live in the slots offsets[v] .. offsets[v + 1] - 1
+ * of targets and weights, so walking the neighbors of a vertex is a
+ * sequential scan over primitive arrays instead of a HashMap iteration.
+ * Every undirected edge is stored once in each direction.
+ */
+public class CsrGraph implements GraphStore {
+
+    final int[] offsets; // offsets[v] is the first arc of v, offsets[n] is the total number of arcs
+    final int[] targets; // index of the vertex each arc points to
+    final double[] weights; // weight of each arc
+    final int[] xs; // x coordinate of each vertex
+    final int[] ys; // y coordinate of each vertex
+    int version = 0; // bumped every time coordinates or weights are patched in place
+
+    /**
+     * Builds the CSR arrays from the neighbor maps of the given graph.
+     * Neighbors are stored in the same order the maps iterate them in,
+     * so traversals visit them in the same order as before.
+     *
+     * @param graph The graph to freeze.
+     */
+    public CsrGraph(Graph graph) {
+        int n = graph.vertices.size();
+        offsets = new int[n + 1];
+        xs = new int[n];
+        ys = new int[n];
+        for (int v = 0; v < n; v++) {
+            Vertex vertex = graph.vertices.get(v);
+            offsets[v + 1] = offsets[v] + vertex.neighbors.size();
+            xs[v] = vertex.x;
+            ys[v] = vertex.y;
+        }
+        targets = new int[offsets[n]];
+        weights = new double[offsets[n]];
+        for (int v = 0; v < n; v++) {
+            int e = offsets[v];
+            for (Map.Entry<Vertex, Double> entry : graph.vertices.get(v).neighbors.entrySet()) {
+                targets[e] = entry.getKey().index;
+                weights[e] = entry.getValue();
+                e++;
+            }
+        }
+    }
+
+    /**
+     * Wraps arrays that already are in CSR form, e.g. read from a GraphFile, without copying them.
+     */
+    CsrGraph(int[] offsets, int[] targets, double[] weights, int[] xs, int[] ys) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    @Override
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public long arcs() {
+        return targets.length;
+    }
+
+    @Override
+    public long firstArc(int v) {
+        return offsets[v];
+    }
+
+    @Override
+    public long endArc(int v) {
+        return offsets[v + 1];
+    }
+
+    @Override
+    public int target(long arc) {
+        return targets[(int) arc];
+    }
+
+    @Override
+    public double weight(long arc) {
+        return weights[(int) arc];
+    }
+
+    /** Returns the number of arcs, which is twice the number of undirected edges. */
+    public int arcCount() {
+        return targets.length;
+    }
+
+    /** Returns the first arc of vertex V. */
+    public int begin(int v) {
+        return offsets[v];
+    }
+
+    /** Returns one past the last arc of vertex V. */
+    public int end(int v) {
+        return offsets[v + 1];
+    }
+
+    public int target(int e) {
+        return targets[e];
+    }
+
+    public double weight(int e) {
+        return weights[e];
+    }
+
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    public int version() {
+        return version;
+    }
+
+    @Override
+    public int x(int v) {
+        return xs[v];
+    }
+
+    @Override
+    public int y(int v) {
+        return ys[v];
+    }
+
+    /**
+     * Copies the position of a moved vertex into the frozen arrays and patches
+     * the weights of all its arcs in both directions. The edge set itself
+     * doesn't change when a vertex is dragged, so the layout stays valid.
+     *
+     * @param vertex The vertex that was moved.
+     */
+    public void updateVertex(Vertex vertex) {
+        int v = vertex.index;
+        version++;
+        xs[v] = vertex.x;
+        ys[v] = vertex.y;
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            int u = targets[e];
+            double weight = Graph.dist(xs[v], ys[v], xs[u], ys[u]);
+            weights[e] = weight;
+            for (int back = offsets[u]; back < offsets[u + 1]; back++) { // the reverse arc
+                if (targets[back] == v) {
+                    weights[back] = weight;
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package playground;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel single source shortest paths with delta-stepping (Meyer and Sanders). Vertices are
+ * kept in buckets of width delta by their tentative distance. The smallest bucket is emptied in
+ * rounds that relax the light edges (not longer than delta) of all its vertices at once, since
+ * they can put vertices back into the same bucket, and the heavy edges of everything removed
+ * from it are relaxed once at the end. Every round is split over a ForkJoinPool, and distances
+ * are lowered with compare and set.
+ *
+ * A distance is always dist[v] + w of the vertex it was reached from, summed in the same order
+ * as Dijkstra sums it. Rounding never makes a longer path sum to less, so whatever order the
+ * threads relax the edges in, every distance ends as the smallest sum over all paths, which is
+ * what Dijkstra computes. The results are equal to Dijkstra's to the bit, for any weights.
+ */
+public class DeltaStepping {
+
+    static final int GRAIN = 1024; // vertices a task relaxes without splitting further
+    static final int MAX_BUCKETS = 1 << 20; // delta is raised if the heaviest edge would span more buckets
+    static final int MAX_ARCS = Integer.MAX_VALUE - 8; // the light and heavy copy is indexed by int
+    private static final VarHandle DIST = MethodHandles.arrayElementVarHandle(double[].class); // compares the raw bits
+
+    private final ForkJoinPool pool;
+    private final int n;
+    private final double delta;
+    private final double maxWeight;
+    private final int[] offsets;
+    private final int[] lightEnd; // the light edges of v are offsets[v] .. lightEnd[v] - 1, the heavy ones follow
+    private final int[] targets;
+    private final double[] weights;
+
+    /**
+     * Snapshots the weights of GRAPH, with delta tuned to the graph, and runs on the common pool.
+     */
+    public DeltaStepping(GraphStore graph) {
+        this(graph, ForkJoinPool.commonPool(), autoDelta(graph));
+    }
+
+    /**
+     * Snapshots the weights of GRAPH and splits its edges into light and heavy ones by DELTA.
+     * Delta is raised if the heaviest edge would span more than MAX_BUCKETS buckets.
+     *
+     * @throws IllegalArgumentException If delta isn't positive, or GRAPH has more arcs than the
+     *                                  light and heavy copy can hold in arrays.
+     */
+    public DeltaStepping(GraphStore graph, ForkJoinPool pool, double delta) {
+        if (!(delta > 0)) {
+            throw new IllegalArgumentException("delta has to be positive, not " + delta);
+        }
+        this.pool = pool;
+        this.n = graph.vertexCount();
+        double max = 0;
+        long arcs = 0;
+        for (int v = 0; v < n; v++) {
+            for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                max = Math.max(max, graph.weight(e));
+            }
+            arcs += graph.endArc(v) - graph.firstArc(v);
+        }
+        if (arcs > MAX_ARCS) {
+            throw new IllegalArgumentException(arcs + " arcs, delta-stepping copies at most " + MAX_ARCS);
+        }
+        maxWeight = max;
+        this.delta = Math.max(delta, maxWeight / MAX_BUCKETS);
+        offsets = new int[n + 1];
+        lightEnd = new int[n];
+        targets = new int[(int) arcs];
+        weights = new double[(int) arcs];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + (int) (graph.endArc(v) - graph.firstArc(v));
+            int light = offsets[v];
+            int heavy = offsets[v + 1];
+            for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                double w = graph.weight(e);
+                int slot = w <= this.delta ? light++ : --heavy;
+                targets[slot] = graph.target(e);
+                weights[slot] = w;
+            }
+            lightEnd[v] = light;
+        }
+    }
+
+    /**
+     * Returns delta for GRAPH: the average edge weight divided by the average degree, so a
+     * bucket holds about as many vertices as can be relaxed without much wasted work.
+     */
+    public static double autoDelta(GraphStore graph) {
+        double total = 0;
+        long arcs = 0;
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                total += graph.weight(e);
+            }
+            arcs += graph.endArc(v) - graph.firstArc(v);
+        }
+        if (total == 0) {
+            return 1; // no weights, or all zero, any delta works
+        }
+        double averageDegree = (double) arcs / graph.vertexCount();
+        return total / arcs / averageDegree;
+    }
+
+    public double delta() {
+        return delta;
+    }
+
+    private long bucketOf(double distance) {
+        return (long) (distance / delta);
+    }
+
+    /**
+     * Returns the distance from SOURCE to every vertex, infinity for the ones it can't reach.
+     */
+    public double[] distances(int source) {
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        double[] queued = new double[n]; // the distance a vertex was last put in a bucket with, -1 if it isn't
+        Arrays.fill(queued, -1);
+        boolean[] removed = new boolean[n];
+        int bucketCount = (int) (maxWeight / delta) + 3; // every live entry is within this many buckets, rounding included
+        IntList[] buckets = new IntList[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new IntList();
+        }
+
+        dist[source] = 0;
+        queued[source] = 0;
+        buckets[0].add(source);
+        IntList frontier = new IntList();
+        IntList removedList = new IntList();
+        long current = 0;
+        while (true) {
+            int skipped = 0;
+            while (buckets[(int) (current % bucketCount)].size == 0 && skipped < bucketCount) {
+                current++;
+                skipped++;
+            }
+            if (skipped == bucketCount) {
+                break; // all buckets are empty
+            }
+            IntList bucket = buckets[(int) (current % bucketCount)];
+            while (bucket.size > 0) { // rounding can put a heavy edge's end back in this bucket
+                removedList.size = 0;
+                while (bucket.size > 0) {
+                    frontier.size = 0;
+                    for (int i = 0; i < bucket.size; i++) {
+                        int v = bucket.items[i];
+                        if (queued[v] != dist[v] || bucketOf(dist[v]) != current) {
+                            continue; // stale, it was lowered and queued again, or already taken
+                        }
+                        queued[v] = -1;
+                        frontier.add(v);
+                        if (!removed[v]) {
+                            removed[v] = true;
+                            removedList.add(v);
+                        }
+                    }
+                    bucket.size = 0;
+                    enqueue(relax(frontier, true, dist), dist, queued, buckets);
+                }
+                enqueue(relax(removedList, false, dist), dist, queued, buckets);
+                for (int i = 0; i < removedList.size; i++) {
+                    removed[removedList.items[i]] = false;
+                }
+            }
+            current++;
+        }
+        return dist;
+    }
+
+    /**
+     * Puts every vertex whose distance was lowered in the bucket of its new distance, once.
+     */
+    private void enqueue(IntList[] updates, double[] dist, double[] queued, IntList[] buckets) {
+        for (IntList list : updates) {
+            for (int i = 0; i < list.size; i++) {
+                int u = list.items[i];
+                if (queued[u] != dist[u]) {
+                    queued[u] = dist[u];
+                    buckets[(int) (bucketOf(dist[u]) % buckets.length)].add(u);
+                }
+            }
+        }
+    }
+
+    /**
+     * Relaxes the light or heavy edges of the vertices in FRONTIER and returns the vertices whose
+     * distance went down, in one list per chunk. Small frontiers are relaxed on the calling thread.
+     */
+    private IntList[] relax(IntList frontier, boolean light, double[] dist) {
+        int chunks = Math.max(1, (frontier.size + GRAIN - 1) / GRAIN);
+        IntList[] updates = new IntList[chunks];
+        if (chunks == 1) {
+            updates[0] = new IntList();
+            relaxRange(frontier.items, 0, frontier.size, light, dist, updates[0]);
+        } else {
+            pool.invoke(new RelaxTask(frontier.items, frontier.size, 0, chunks, light, dist, updates));
+        }
+        return updates;
+    }
+
+    private void relaxRange(int[] frontier, int from, int to, boolean light, double[] dist, IntList updated) {
+        for (int i = from; i < to; i++) {
+            int v = frontier[i];
+            double dv = (double) DIST.getVolatile(dist, v);
+            int begin = light ? offsets[v] : lightEnd[v];
+            int end = light ? lightEnd[v] : offsets[v + 1];
+            for (int e = begin; e < end; e++) {
+                int u = targets[e];
+                double newDist = dv + weights[e]; // summed like Dijkstra does
+                double old = (double) DIST.getVolatile(dist, u);
+                while (newDist < old) {
+                    if (DIST.compareAndSet(dist, u, old, newDist)) {
+                        updated.add(u);
+                        break;
+                    }
+                    old = (double) DIST.getVolatile(dist, u);
+                }
+            }
+        }
+    }
+
+    /**
+     * Relaxes the chunks from..to of a frontier, splitting the range in halves until a task has a single chunk.
+     */
+    private class RelaxTask extends RecursiveAction {
+        private final int[] frontier;
+        private final int size;
+        private final int from, to;
+        private final boolean light;
+        private final double[] dist;
+        private final IntList[] updates;
+
+        RelaxTask(int[] frontier, int size, int from, int to, boolean light, double[] dist, IntList[] updates) {
+            this.frontier = frontier;
+            this.size = size;
+            this.from = from;
+            this.to = to;
+            this.light = light;
+            this.dist = dist;
+            this.updates = updates;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                updates[from] = new IntList();
+                relaxRange(frontier, from * GRAIN, Math.min(size, (from + 1) * GRAIN), light, dist, updates[from]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RelaxTask(frontier, size, from, mid, light, dist, updates),
+                    new RelaxTask(frontier, size, mid, to, light, dist, updates));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package playground;
+
+import java.util.Arrays;
+
+/**
+ * The classic depth first search outputs for a whole graph, computed in one iterative pass:
+ * preorder, postorder, discovery and finish times and the depth first forest. Roots are taken
+ * in index order and neighbors in adjacency order, so the tree from vertex 0 is the one
+ * PathEngine.dfs explores. An arc filter gives a directed view of the undirected graph, e.g.
+ * only the arcs towards higher indices, and for an acyclic view the reverse postorder is a
+ * topological order.
+ */
+public class DepthFirstOrder {
+
+    /**
+     * Decides which arcs of the graph the search follows.
+     */
+    @FunctionalInterface
+    public interface ArcFilter {
+        ArcFilter ALL = (v, e) -> true;
+
+        /** Returns true if the search may follow arc E out of vertex V. */
+        boolean follows(int v, long e);
+    }
+
+    public final int[] preorder; // the vertices in the order they were discovered
+    public final int[] postorder; // the vertices in the order they were finished
+    public final int[] discovery; // discovery[v] is the time v was discovered, times count discoveries and finishes
+    public final int[] finish; // finish[v] is the time all of v's descendants were done
+    public final int[] parent; // parent[v] is the vertex v was discovered from, -1 for a root
+    private final boolean acyclic;
+
+    private DepthFirstOrder(int[] preorder, int[] postorder, int[] discovery, int[] finish, int[] parent,
+                            boolean acyclic) {
+        this.preorder = preorder;
+        this.postorder = postorder;
+        this.discovery = discovery;
+        this.finish = finish;
+        this.parent = parent;
+        this.acyclic = acyclic;
+    }
+
+    public static DepthFirstOrder of(GraphStore graph) {
+        return of(graph, ArcFilter.ALL);
+    }
+
+    /**
+     * Searches GRAPH, following only the arcs VIEW accepts.
+     */
+    public static DepthFirstOrder of(GraphStore graph, ArcFilter view) {
+        int n = graph.vertexCount();
+        int[] preorder = new int[n];
+        int[] postorder = new int[n];
+        int[] discovery = new int[n];
+        int[] finish = new int[n];
+        int[] parent = new int[n];
+        Arrays.fill(discovery, -1);
+        Arrays.fill(finish, -1);
+        Arrays.fill(parent, -1);
+        int[] stack = new int[n];
+        long[] nextEdge = new long[n]; // nextEdge[i] is the next arc of stack[i] to follow
+        int pre = 0;
+        int post = 0;
+        int time = 0;
+        boolean acyclic = true;
+
+        for (int root = 0; root < n; root++) {
+            if (discovery[root] >= 0) {
+                continue;
+            }
+            discovery[root] = time++;
+            preorder[pre++] = root;
+            stack[0] = root;
+            nextEdge[0] = graph.firstArc(root);
+            int top = 1;
+            while (top > 0) {
+                int v = stack[top - 1];
+                if (nextEdge[top - 1] == graph.endArc(v)) {
+                    finish[v] = time++;
+                    postorder[post++] = v;
+                    top--;
+                    continue;
+                }
+                long e = nextEdge[top - 1]++;
+                if (!view.follows(v, e)) {
+                    continue;
+                }
+                int u = graph.target(e);
+                if (discovery[u] >= 0) {
+                    if (finish[u] < 0) {
+                        acyclic = false; // u is still on the stack, so this arc closes a cycle
+                    }
+                    continue;
+                }
+                discovery[u] = time++;
+                preorder[pre++] = u;
+                parent[u] = v;
+                stack[top] = u;
+                nextEdge[top] = graph.firstArc(u);
+                top++;
+            }
+        }
+        return new DepthFirstOrder(preorder, postorder, discovery, finish, parent, acyclic);
+    }
+
+    /**
+     * Returns true if the view has no directed cycle. With every arc followed this is only true
+     * for a graph without edges, since every undirected edge is a cycle of two arcs.
+     */
+    public boolean isAcyclic() {
+        return acyclic;
+    }
+
+    /**
+     * Returns the vertices in an order where every arc of the view points forward.
+     *
+     * @throws IllegalStateException If the view has a cycle.
+     */
+    public int[] topologicalOrder() {
+        if (!acyclic) {
+            throw new IllegalStateException("the view has a cycle, so there is no topological order");
+        }
+        int n = postorder.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = postorder[n - 1 - i];
+        }
+        return order;
+    }
+}
@@ -0,0 +1,247 @@
+package playground;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Runs a search in the background and plays it back on the panel. The search records its state
+ * changes into an AnimationBuffer at full speed, a Swing timer drains it a frame at a time and
+ * colors the vertices, paced by delayFor and the animation delay. The delay slows down the
+ * playback only, never the search.
+ */
+class DfsWorker extends SwingWorker<Boolean, Void> {
+
+    public final Vertex startVertex;
+    public final Vertex endVertex;
+    public GraphPanel graphPanel;
+    public final CsrGraph adjacency; // frozen neighbors the search iterates over
+    public final long graphVersion; // the version of the graph adjacency was frozen at
+    private static final Color BACKWARD_COLOR = new Color(0, 234, 255);
+    protected volatile PathResult result = null; // set once the search finished
+    private volatile boolean fromCache = false; // the result came out of the panel's path cache
+
+    static final int FRAME_MILLIS = 16;
+    private static final int CLEAR = -1; // recorded instead of a vertex for clearMarks
+    private static final byte UNPACED = 0x40; // or'ed into a recorded state that plays without a delay
+    private final Graph graph; // the graph the search runs on, playback stops if the panel shows another
+    private final AnimationBuffer steps = new AnimationBuffer();
+    private final Timer player = new Timer(FRAME_MILLIS, e -> play());
+    private int[] frameVertices = new int[0]; // the steps of the current frame, grown with the panel's steps per frame
+    private byte[] frameStates = new byte[0];
+    private long lastFrame = System.nanoTime();
+    private double owed = 0; // milliseconds to wait before the next step is played, negative if behind
+
+    /**
+     * Constructor for the DFS background task.
+     * @param start The starting vertex for DFS.
+     * @param end The target vertex for DFS.
+     */
+    DfsWorker(Vertex start, Vertex end, GraphPanel graphPanel) {
+        this.startVertex = start;
+        this.endVertex = end;
+        this.graphPanel = graphPanel;
+        this.adjacency = graphPanel.graph.freeze();
+        this.graphVersion = graphPanel.graph.version();
+        this.graph = graphPanel.graph;
+        player.start(); // created on the EDT, plays whatever the search records from now on
+    }
+
+    /**
+     * Cancels the search and stops the playback, even if the search already finished and
+     * only the playback is still behind. Called on the EDT.
+     */
+    public void stop() {
+        cancel(true);
+        player.stop();
+    }
+
+    /**
+     * This method runs on the Event Dispatch Thread.
+     * Executed after doInBackground() completes (successfully, cancelled, or with error).
+     * The playback may still be behind, it shows the result once it catches up.
+     */
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            player.stop();
+        }
+    }
+
+    /**
+     * Plays the recorded steps that are due by now, called by the timer on the EDT every frame.
+     * Every step played puts off the next one by delayFor its state, and no frame plays more than
+     * the panel's steps per frame, so with no delay that is the rate. A frame that comes late
+     * catches up by at most one frame.
+     */
+    private void play() {
+        if (isCancelled() || graphPanel.graph != graph) {
+            player.stop();
+            return;
+        }
+        long now = System.nanoTime();
+        owed = Math.max(owed - (now - lastFrame) / 1e6, -FRAME_MILLIS);
+        lastFrame = now;
+        boolean finished = isDone(); // read first, everything recorded before is in the buffer then
+        int perFrame = Math.max(1, graphPanel.stepsPerFrame);
+        if (frameVertices.length < perFrame) {
+            frameVertices = new int[perFrame];
+            frameStates = new byte[perFrame];
+        }
+        int count = steps.peek(frameVertices, frameStates, perFrame);
+        int played = 0;
+        while (played < count && owed <= 0) {
+            int vertex = frameVertices[played];
+            byte recorded = frameStates[played];
+            played++;
+            if (vertex == CLEAR) {
+                clearColors();
+                continue;
+            }
+            byte state = (byte) (recorded & ~UNPACED);
+            graphPanel.colorVertex(graph.vertices.get(vertex), colorOf(state)); // repaints just around the vertex
+            if ((recorded & UNPACED) == 0) {
+                owed += delayFor(state);
+            }
+        }
+        steps.remove(played);
+        if (finished && played == count && steps.isEmpty()) {
+            player.stop();
+            if (result != null) { // null if the search failed
+                graphPanel.status = describe(result);
+                graphPanel.repaint();
+            }
+        }
+    }
+
+    /**
+     * Returns the line shown in the corner of the panel once the search is done.
+     */
+    protected String describe(PathResult result) {
+        if (fromCache) {
+            PathCache cache = graphPanel.pathCache;
+            return String.format("Path cost %.1f from the cache, %d hits, %d misses",
+                    result.cost, cache.hits(), cache.misses());
+        }
+        if (!result.found) {
+            return String.format("No path, settled %d vertices", result.settled);
+        }
+        return String.format("Settled %d vertices, path cost %.1f", result.settled, result.cost);
+    }
+
+    /**
+     * Runs on background thread.
+     */
+    @Override
+    protected Boolean doInBackground() throws Exception {
+        animation.mark(startVertex.index, VertexState.START); // this is where the thread goes to execute the dfs
+        animation.mark(endVertex.index, VertexState.END);
+
+        PathCache cache = graphPanel.pathCache;
+        PathResult cached = cache.get(graph, graphVersion, adjacency, startVertex.index, endVertex.index, algorithm());
+        if (cached != null) { // asked before, just show the path
+            fromCache = true;
+            PathEngine.markPath(cached.path, animation);
+            result = cached;
+            return result.found;
+        }
+        PathResult found = search();
+        cache.put(graph, graphVersion, startVertex.index, endVertex.index, algorithm(), found);
+        result = found;
+        return result.found;
+    }
+
+    /**
+     * Runs the search on the background thread, animated through the animation listener.
+     */
+    protected PathResult search() throws Exception {
+        return PathEngine.dfs(adjacency, startVertex.index, endVertex.index, animation);
+    }
+
+    /**
+     * Returns the algorithm search runs, the results are cached under it.
+     */
+    protected PathEngine.Algorithm algorithm() {
+        return PathEngine.Algorithm.DFS;
+    }
+
+    /**
+     * Records the state changes of the engine for the playback, without slowing the search
+     * down. Runs on the background thread.
+     */
+    protected final SearchListener animation = new SearchListener() {
+        @Override
+        public void mark(int vertex, byte state) {
+            if (isCancelled()) {
+                throw new CancellationException();
+            }
+            steps.add(vertex, paced() ? state : (byte) (state | UNPACED));
+        }
+
+        @Override
+        public void clearMarks() {
+            steps.add(CLEAR, VertexState.UNVISITED);
+        }
+    };
+
+    /**
+     * Returns whether the steps recorded now are played back with their delay, checked on the
+     * background thread as they are recorded.
+     */
+    protected boolean paced() {
+        return true;
+    }
+
+    /**
+     * Returns how long the playback pauses after a vertex is moved into STATE. Runs on the EDT.
+     */
+    protected int delayFor(byte state) {
+        switch (state) {
+            case VertexState.VISITED:
+                return graphPanel.animationDelay;
+            case VertexState.PATH:
+            case VertexState.DONE:
+                return graphPanel.animationDelay / 2;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns the color a vertex in STATE is drawn with.
+     */
+    public static Color colorOf(byte state) {
+        switch (state) {
+            case VertexState.START:
+                return Color.GREEN;
+            case VertexState.END:
+                return Color.RED;
+            case VertexState.VISITED:
+                return Color.ORANGE;
+            case VertexState.BACKWARD_VISITED:
+                return BACKWARD_COLOR;
+            case VertexState.DONE:
+                return Color.LIGHT_GRAY;
+            case VertexState.PATH:
+                return Color.BLUE;
+            case VertexState.FOUND:
+                return Color.CYAN;
+            default:
+                return Color.GRAY;
+        }
+    }
+
+    /**
+     * Makes everything gray that's not the start or end vertex, all at once instead of a step
+     * per vertex.
+     */
+    private void clearColors() {
+        Color start = startVertex.color;
+        Color end = endVertex.color;
+        graphPanel.resetColors();
+        graphPanel.colorVertex(startVertex, start);
+        graphPanel.colorVertex(endVertex, end);
+    }
+}
+
+
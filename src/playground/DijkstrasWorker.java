@@ -0,0 +1,47 @@
+package playground;
+
+public class DijkstrasWorker extends DfsWorker{
+
+    private volatile boolean fromHierarchy = false; // the path came out of the graph file's contraction hierarchy
+
+    public DijkstrasWorker(Vertex start, Vertex end, GraphPanel graphPanel) {
+        super(start, end, graphPanel);
+    }
+
+    /**
+     * Searches, unless the graph was read with a contraction hierarchy and hasn't changed since:
+     * then the hierarchy answers with the same shortest path and only the path is shown.
+     */
+    @Override
+    protected PathResult search() throws Exception {
+        ContractionHierarchy hierarchy = graphPanel.hierarchyFor(adjacency);
+        if (hierarchy != null) {
+            fromHierarchy = true;
+            PathResult found = hierarchy.query(startVertex.index, endVertex.index);
+            if (found.found) {
+                PathEngine.markPath(found.path, animation);
+            }
+            return found;
+        }
+        return PathEngine.dijkstra(adjacency, startVertex.index, endVertex.index, animation);
+    }
+
+    @Override
+    protected PathEngine.Algorithm algorithm() {
+        return PathEngine.Algorithm.DIJKSTRA;
+    }
+
+    @Override
+    protected int delayFor(byte state) {
+        if (state == VertexState.VISITED || state == VertexState.PATH) {
+            return graphPanel.animationDelay;
+        }
+        return 0;
+    }
+
+    @Override
+    protected String describe(PathResult result) {
+        String line = super.describe(result);
+        return fromHierarchy ? line + " in the contraction hierarchy" : line;
+    }
+}
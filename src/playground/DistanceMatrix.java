@@ -0,0 +1,192 @@
+package playground;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Shortest path distances from every vertex of a list of sources to every vertex of a list of
+ * targets. Each row is one Dijkstra search from its source that stops as soon as it has settled
+ * every target, and the rows are searched in parallel, each thread on its own SearchContext.
+ * The distances are stored row by row in one flat array, infinity where a target can't be
+ * reached. Tables too large to keep in memory can be streamed to a file instead, little endian
+ * like a GraphFile:
+ *
+ * <pre>
+ *  0 int magic "DM01"   4 int rows   8 int columns   12 int padding
+ * 16 int sources[rows], int targets[columns], padded to a multiple of 8
+ *    double distances[rows * columns], row by row
+ * </pre>
+ */
+public class DistanceMatrix {
+
+    private static final int MAGIC = 0x31304d44; // "DM01" read as a little endian int
+    static final int ROWS_PER_THREAD = 16; // rows every thread searches between two writes when streaming
+
+    public final int[] sources;
+    public final int[] targets;
+    final double[] distances; // distances[i * targets.length + j] is the distance from sources[i] to targets[j]
+
+    private DistanceMatrix(int[] sources, int[] targets, double[] distances) {
+        this.sources = sources;
+        this.targets = targets;
+        this.distances = distances;
+    }
+
+    /** Returns the distance from SOURCES[I] to TARGETS[J]. */
+    public double get(int i, int j) {
+        return distances[i * targets.length + j];
+    }
+
+    public static DistanceMatrix compute(Graph graph, int[] sources, int[] targets) {
+        return compute(graph.freeze(), sources, targets, ForkJoinPool.commonPool());
+    }
+
+    public static DistanceMatrix compute(GraphStore graph, int[] sources, int[] targets) {
+        return compute(graph, sources, targets, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the whole table on POOL.
+     *
+     * @throws IllegalArgumentException If the table has more cells than an array can hold, see
+     *                                  {@link #write(GraphStore, int[], int[], Path, ForkJoinPool)}.
+     */
+    public static DistanceMatrix compute(GraphStore graph, int[] sources, int[] targets, ForkJoinPool pool) {
+        long cells = (long) sources.length * targets.length;
+        if (cells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(cells + " distances don't fit in an array, write them to a file");
+        }
+        Targets lookup = new Targets(graph, targets);
+        double[] distances = new double[(int) cells];
+        pool.submit(() -> IntStream.range(0, sources.length).parallel()
+                .forEach(i -> searchRow(graph, sources[i], lookup, distances, i * targets.length))).join();
+        return new DistanceMatrix(sources.clone(), targets.clone(), distances);
+    }
+
+    /**
+     * Computes the table a block of rows at a time and writes every block to FILE before computing
+     * the next, so only a few rows are in memory at once. The file holds the number of rows and
+     * columns, the sources, the targets and then the distances row by row, see {@link #read(Path)}.
+     */
+    public static void write(GraphStore graph, int[] sources, int[] targets, Path file, ForkJoinPool pool)
+            throws IOException {
+        Targets lookup = new Targets(graph, targets);
+        int blockRows = Math.max(1, pool.getParallelism() * ROWS_PER_THREAD);
+        double[] block = new double[blockRows * targets.length];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             GraphFile.Output out = new GraphFile.Output(channel)) {
+            out.putInt(MAGIC);
+            out.putInt(sources.length);
+            out.putInt(targets.length);
+            out.putInt(0);
+            out.ints(sources, sources.length);
+            out.ints(targets, targets.length);
+            out.align();
+            for (int from = 0; from < sources.length; from += blockRows) {
+                int first = from;
+                int rows = Math.min(blockRows, sources.length - from);
+                pool.submit(() -> IntStream.range(0, rows).parallel()
+                        .forEach(r -> searchRow(graph, sources[first + r], lookup, block, r * targets.length))).join();
+                out.doubles(block, rows * targets.length);
+            }
+        }
+    }
+
+    /**
+     * Reads a table written by {@link #write(GraphStore, int[], int[], Path, ForkJoinPool)}.
+     */
+    public static DistanceMatrix read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < 16) {
+                throw new IOException(file + " is not a distance matrix");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, 16).order(ByteOrder.LITTLE_ENDIAN);
+            int rows = header.getInt(4);
+            int columns = header.getInt(8);
+            long distancesAt = GraphFile.align(16 + 4L * rows + 4L * columns);
+            if (header.getInt(0) != MAGIC || rows < 0 || columns < 0) {
+                throw new IOException(file + " is not a distance matrix");
+            }
+            if ((long) rows * columns > Integer.MAX_VALUE - 8) {
+                throw new IOException(file + " has more distances than an array can hold");
+            }
+            if (distancesAt + 8L * rows * columns > channel.size()) {
+                throw new IOException(file + " is cut short");
+            }
+            GraphFile.Input in = new GraphFile.Input(channel);
+            int[] sources = new int[rows];
+            int[] targets = new int[columns];
+            in.ints(16, sources);
+            in.ints(16 + 4L * rows, targets);
+            double[] distances = new double[rows * columns];
+            in.doubles(distancesAt, distances);
+            return new DistanceMatrix(sources, targets, distances);
+        }
+    }
+
+    /**
+     * Runs Dijkstra from SOURCE until every target is settled and writes the row of distances
+     * into OUT starting at OFFSET.
+     */
+    private static void searchRow(GraphStore graph, int source, Targets lookup, double[] out, int offset) {
+        try (SearchContext context = SearchContext.acquire(graph.vertexCount())) {
+            IndexedMinHeap pq = context.heap();
+            context.setDist(source, 0);
+            pq.insert(source, 0);
+            int left = lookup.distinct;
+            while (!pq.isEmpty() && left > 0) {
+                int v = pq.poll();
+                context.settle(v);
+                if (lookup.isTarget[v]) {
+                    left--;
+                }
+                double distV = context.dist(v);
+                for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                    int u = graph.target(e);
+                    if (context.settled(u)) {
+                        continue;
+                    }
+                    double newDist = distV + graph.weight(e);
+                    if (newDist < context.dist(u)) {
+                        context.setDist(u, newDist);
+                        pq.insertOrDecrease(u, newDist);
+                    }
+                }
+            }
+            for (int j = 0; j < lookup.targets.length; j++) {
+                int t = lookup.targets[j];
+                out[offset + j] = context.settled(t) ? context.dist(t) : Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    /** Which vertices are targets, shared read only by all searches. */
+    private static class Targets {
+        final int[] targets;
+        final boolean[] isTarget;
+        final int distinct; // a vertex listed twice only has to be settled once
+
+        Targets(GraphStore graph, int[] targets) {
+            this.targets = targets;
+            isTarget = new boolean[graph.vertexCount()];
+            int count = 0;
+            for (int t : targets) {
+                if (t < 0 || t >= isTarget.length) {
+                    throw new IllegalArgumentException("target " + t + " is not a vertex");
+                }
+                if (!isTarget[t]) {
+                    isTarget[t] = true;
+                    count++;
+                }
+            }
+            distinct = count;
+        }
+    }
+}
@@ -0,0 +1,516 @@
+package playground;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+
+/**
+ * Holds a collection of vertices and can perform operations
+ * with them that we will define later like various
+ * different graph traversals.
+ */
+public class Graph {
+
+    ArrayList<Vertex> vertices = new ArrayList<>();
+    ArrayList<Pair<Vertex, Vertex>> extraEdges = new ArrayList<>();
+    final Random rand; // every random choice the graph makes, seeded for reproducible graphs
+    int width;
+    int height;
+    int maxDist;
+    int density = 0;
+    private CsrGraph csr = null; // frozen adjacency, rebuilt lazily after the edge set changes
+    SpatialGrid grid; // every vertex bucketed by position, indexed like vertices
+    private int[] originalIndex = null; // index of every vertex before renumbered, null if it never was
+    private static final AtomicLong VERSIONS = new AtomicLong(); // shared, so no two graphs ever have the same version
+    private volatile long version = VERSIONS.incrementAndGet();
+
+    /**
+     * How the constructor connects the vertices into one component.
+     */
+    public enum EdgeStrategy {
+        RANDOM, // connect vertices to random vertices of other components within maxDist
+        NEAREST // Boruvka: connect every component to its nearest other component each round
+    }
+
+    /**
+     * Constructs a Graph with a specified number of randomly placed vertices
+     * within the width and height.
+     *
+     * @param num_vertices The number of vertices (circles) to create.
+     * @param width        The maximum width for placing vertices.
+     * @param height       The maximum height for placing vertices.
+     */
+    public Graph(int num_vertices, int ball_radius, int width, int height, int maxDist) {
+        this(num_vertices, ball_radius, width, height, maxDist, new Random().nextLong());
+    }
+
+    /**
+     * Constructs the same random Graph every time it is given the same parameters and seed.
+     *
+     * @param seed The seed for vertex placement and edge selection.
+     */
+    public Graph(int num_vertices, int ball_radius, int width, int height, int maxDist, long seed) {
+        this(num_vertices, ball_radius, width, height, maxDist, seed, EdgeStrategy.RANDOM);
+    }
+
+    /**
+     * Constructs the same random Graph every time, connecting it with the given strategy.
+     *
+     * @param edgeStrategy How to connect the vertices.
+     */
+    public Graph(int num_vertices, int ball_radius, int width, int height, int maxDist, long seed,
+                 EdgeStrategy edgeStrategy) {
+        this.rand = new Random(seed);
+        this.width = width;
+        this.height = height;
+        this.maxDist = maxDist;
+        addVertices(num_vertices, ball_radius, width, height);
+        if (edgeStrategy == EdgeStrategy.NEAREST) {
+            addNearestEdges();
+        } else {
+            addEdges();
+        }
+    }
+
+    /**
+     * Constructs a Graph without vertices or edges for generators that place them themselves.
+     *
+     * @param cellSize The cell size of the grid the vertices are added to.
+     */
+    Graph(int width, int height, int maxDist, long seed, int cellSize) {
+        this.rand = new Random(seed);
+        this.width = width;
+        this.height = height;
+        this.maxDist = maxDist;
+        this.grid = new SpatialGrid(width, height, cellSize);
+    }
+
+    /**
+     * Builds a graph with the vertices and edges of ADJACENCY, e.g. one read from a GraphFile,
+     * and keeps ADJACENCY as its frozen form until the edges change.
+     */
+    static Graph of(CsrGraph adjacency, int width, int height, int maxDist, int ball_radius) {
+        int n = adjacency.vertexCount();
+        int cellSize = (int) Math.ceil(Math.sqrt((double) width * height / Math.max(1, n))); // about a vertex per cell
+        Graph graph = new Graph(width, height, maxDist, new Random().nextLong(), cellSize);
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(adjacency.x(v), adjacency.y(v), ball_radius);
+        }
+        for (int v = 0; v < n; v++) {
+            Vertex vertex = graph.vertices.get(v);
+            for (int e = adjacency.begin(v); e < adjacency.end(v); e++) {
+                vertex.neighbors.put(graph.vertices.get(adjacency.target(e)), adjacency.weight(e));
+            }
+        }
+        graph.csr = adjacency;
+        return graph;
+    }
+
+    /**
+     * Adds a vertex at (X, Y) and returns it, its index is the number of vertices before.
+     */
+    Vertex addVertex(int x, int y, int ball_radius) {
+        Vertex v = new Vertex(x, y, ball_radius, Color.GRAY, vertices.size());
+        vertices.add(v);
+        grid.add(x, y);
+        changed(); // the vertex set changed
+        return v;
+    }
+
+    /**
+     * Adds an undirected edge between two vertices weighted by their distance.
+     */
+    void addEdge(Vertex startVertex, Vertex endVertex) {
+        double weight = dist(startVertex, endVertex);
+        startVertex.neighbors.put(endVertex, weight);
+        endVertex.neighbors.put(startVertex, weight);
+        changed(); // the edge set changed
+    }
+
+    private void addVertices(int num_vertices, int ball_radius, int width, int height) {
+        int i = 0;
+        int maxAttempts = 1000000;
+        int attempts = 0;
+        int buffer = 15;
+        int minDist = 2 * ball_radius + buffer; // closest two centers may be
+        // a grid with cells as wide as minDist means a collision check only looks at the 3x3 cells around a point
+        grid = new SpatialGrid(width, height, minDist);
+        while (i < num_vertices) {
+            int xPos = rand.nextInt(width - 2 * ball_radius) + ball_radius;
+            int yPos = rand.nextInt(height - 2 * ball_radius) + ball_radius;
+            if (attempts > maxAttempts) { // no more than a million failed attempts
+                break;
+            }
+            if (grid.anyWithin(xPos, yPos, minDist)) {
+                attempts++;
+                continue;
+            }
+            vertices.add(new Vertex(xPos, yPos, ball_radius, Color.GRAY, i));
+            grid.add(xPos, yPos);
+            i++;
+        }
+    }
+
+    /**
+     * Returns the adjacency of this graph in compressed sparse row form,
+     * building it the first time it is needed after the edge set changed.
+     * The neighbor maps stay the editable form of the graph.
+     */
+    public CsrGraph freeze() {
+        if (csr == null) {
+            csr = new CsrGraph(this);
+        }
+        return csr;
+    }
+
+    /**
+     * Returns a copy of this graph with its vertices renumbered, e.g. by a VertexOrder so that
+     * vertices close together in the graph are close together in memory. Vertex i of the copy is
+     * vertex ORDER[i] of this graph. Edges, weights, the extra edges and the density carry over.
+     * Vertex indices are part of the vertices' identity, so this makes new vertices instead of
+     * renumbering these.
+     *
+     * @throws IllegalArgumentException If ORDER isn't a permutation of the vertex indices.
+     */
+    public Graph renumbered(int[] order) {
+        int n = vertices.size();
+        if (order.length != n) {
+            throw new IllegalArgumentException("the order has " + order.length + " vertices, the graph " + n);
+        }
+        Graph copy = new Graph(width, height, maxDist, rand.nextLong(), grid.cellSize);
+        Vertex[] copyOf = new Vertex[n]; // indexed by the old index
+        for (int i = 0; i < n; i++) {
+            if (order[i] < 0 || order[i] >= n || copyOf[order[i]] != null) {
+                throw new IllegalArgumentException("the order isn't a permutation, at " + i);
+            }
+            Vertex old = vertices.get(order[i]);
+            copyOf[order[i]] = copy.addVertex(old.x, old.y, old.radius);
+        }
+        for (int i = 0; i < n; i++) {
+            for (Map.Entry<Vertex, Double> edge : vertices.get(order[i]).neighbors.entrySet()) {
+                copy.vertices.get(i).neighbors.put(copyOf[edge.getKey().index], edge.getValue());
+            }
+        }
+        for (Pair<Vertex, Vertex> edge : extraEdges) {
+            copy.extraEdges.add(new Pair<>(copyOf[edge.getFirst().index], copyOf[edge.getSecond().index]));
+        }
+        copy.density = density;
+        copy.originalIndex = new int[n];
+        for (int i = 0; i < n; i++) {
+            copy.originalIndex[i] = originalIndex(order[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the index vertex V had in the graph this one was renumbered from, through any
+     * number of renumberings, or V if it never was.
+     */
+    public int originalIndex(int v) {
+        return originalIndex == null ? v : originalIndex[v];
+    }
+
+    /**
+     * Returns a number that changes whenever an edge, a weight or the vertex set of this graph
+     * changes. Versions are unique across all graphs, so a result computed for one version is
+     * valid for exactly that graph in exactly that state.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Drops the frozen adjacency and moves to a new version after the vertex or edge set changed.
+     */
+    private void changed() {
+        csr = null;
+        version = VERSIONS.incrementAndGet();
+    }
+
+    /**
+     * Recomputes the weights of every edge touching a vertex that was moved,
+     * in the neighbor maps and in the frozen adjacency if there is one.
+     */
+    public void updateEdgeWeights(Vertex v) {
+        for (Vertex n : v.neighbors.keySet()) {
+            double weight = dist(v, n);
+            v.neighbors.put(n, weight);
+            n.neighbors.put(v, weight);
+        } // updates all the distances between them
+        grid.move(v.index, v.x, v.y);
+        if (csr != null) {
+            csr.updateVertex(v);
+        }
+        version = VERSIONS.incrementAndGet(); // the weights changed
+    }
+
+    public void setDensity(int newDensity) {
+        updateEdgeDensity(this.density, newDensity);
+        this.density = newDensity;
+    }
+
+    /**
+     * Adds edges to the graph
+     */
+    public void addEdges() {
+        int origMaxDist = maxDist;
+        WeightedQuickUnion wqu = new WeightedQuickUnion(vertices.size());
+        HashSet<Integer> unvisitedVertexIndices = new HashSet<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            unvisitedVertexIndices.add(i);
+        }
+        for (Integer i: unvisitedVertexIndices) {
+            boolean result = connectToOtherGroup(i, maxDist, wqu); // attempt to connect vertex i to another vertex
+            if (result) { //success
+                continue;
+            }
+            // we haven't found a neighbor outside of the group that's close enough
+            ArrayList<Integer> vertexIndices = findNearbyVerticesByIndex(i, wqu);
+            if (vertexIndices.size() == vertices.size()) { // everything is connected
+                break;
+            }
+            boolean not_connected = true;
+            while (not_connected) {
+                assert(!vertexIndices.isEmpty()); // can't be empty
+                for (Integer j : vertexIndices) {
+                    if (connectToOtherGroup(j, maxDist, wqu)) { //try to connect all the neighbors to another group
+                        i++;
+                        not_connected = false;
+                        break; // success
+                    }
+                }
+                maxDist += 10;
+            }
+            maxDist = origMaxDist; //restore maxDist
+        }
+
+        updateEdgeDensity(0, density);
+    }
+
+    /**
+     * Connects the vertices with Boruvka's algorithm: every round each component is joined
+     * to its nearest other component, so the number of components at least halves per round
+     * and the result is the Euclidean minimum spanning tree. The nearest vertex outside a
+     * component is looked up in the grid, so this takes about O(n log n) instead of
+     * the O(n^2) random probing of addEdges.
+     */
+    public void addNearestEdges() {
+        connectNearest(new WeightedQuickUnion(vertices.size()));
+        updateEdgeDensity(0, density);
+    }
+
+    /**
+     * Adds the edges Boruvka's algorithm picks to join the components of WQU into one.
+     */
+    void connectNearest(WeightedQuickUnion wqu) {
+        int[] edges = nearestEdges(grid, wqu);
+        for (int k = 0; k < edges.length; k += 2) {
+            addEdge(vertices.get(edges[k]), vertices.get(edges[k + 1]));
+        }
+    }
+
+    /**
+     * Runs Boruvka rounds over the points of GRID until WQU has a single component and
+     * returns the edges it picked as pairs of point numbers, {u0, v0, u1, v1, ...}.
+     * WQU may already contain unions, only the edges between its components are added.
+     */
+    static int[] nearestEdges(SpatialGrid grid, WeightedQuickUnion wqu) {
+        int n = grid.size();
+        int[] component = new int[n];
+        long[] bestSquared = new long[n]; // per component root, squared length of its shortest outgoing edge
+        int[] bestFrom = new int[n];
+        int[] bestTo = new int[n];
+        int[] edges = new int[16];
+        int edgeCount = 0;
+        int components = 0;
+        for (int v = 0; v < n; v++) {
+            if (wqu.parent(v) < 0) {
+                components++;
+            }
+        }
+        while (components > 1) {
+            for (int v = 0; v < n; v++) {
+                component[v] = wqu.find(v);
+                bestSquared[v] = Long.MAX_VALUE;
+            }
+            // once components average 64+ vertices, first only look at the cells right around every vertex, so the
+            // vertices on the border of a component give it a short edge early and the full search stops almost at once
+            int[] passes = components * 64 > n ? new int[] {Integer.MAX_VALUE} : new int[] {2, Integer.MAX_VALUE};
+            for (int maxRing : passes) {
+                for (int v = 0; v < n; v++) {
+                    int c = component[v];
+                    int u = grid.nearest(grid.x(v), grid.y(v), component, c, bestSquared[c], maxRing); // only closer than the best so far
+                    if (u >= 0) {
+                        long dx = grid.x(v) - grid.x(u);
+                        long dy = grid.y(v) - grid.y(u);
+                        bestSquared[c] = dx * dx + dy * dy;
+                        bestFrom[c] = v;
+                        bestTo[c] = u;
+                    }
+                }
+            }
+            for (int c = 0; c < n; c++) {
+                if (component[c] != c || bestSquared[c] == Long.MAX_VALUE) {
+                    continue; // not a root or nothing to connect to
+                }
+                if (wqu.connected(bestFrom[c], bestTo[c])) {
+                    continue; // the other component picked the same edge
+                }
+                if (edgeCount + 2 > edges.length) {
+                    edges = Arrays.copyOf(edges, edges.length * 2);
+                }
+                edges[edgeCount++] = bestFrom[c];
+                edges[edgeCount++] = bestTo[c];
+                wqu.union(bestFrom[c], bestTo[c]);
+                components--;
+            }
+        }
+        return Arrays.copyOf(edges, edgeCount);
+    }
+
+    public void updateEdgeDensity(int old_density, int new_density) {
+        int densityChange = new_density - old_density;
+        if (densityChange > 0) {
+            increaseDensity(densityChange);
+        } else {
+            decreaseDensity(densityChange * -1);
+        }
+    }
+
+    public void increaseDensity(int densityChange) {
+        int count = 0;
+        int i, dx, dy;
+        int originalMaxdist = maxDist;
+        while (count < densityChange) {
+            i = rand.nextInt(vertices.size());
+            int originalCount = count;
+            Vertex startVertex = vertices.get(i);
+            for (int j : grid.within(startVertex.x, startVertex.y, maxDist)) { // same order as a scan over all j
+                if (i == j) continue;
+                if (startVertex.neighbors.size() > 5) {
+                    break;
+                }
+                Vertex endVertex = vertices.get(j);
+                if (startVertex.neighbors.containsKey(endVertex) || endVertex.neighbors.containsKey(startVertex)) {
+                    continue;
+                }
+                if (endVertex.neighbors.size() > 5) {
+                    continue;
+                }
+                dx = startVertex.x - endVertex.x;
+                dy = startVertex.y - endVertex.y;
+                if (dx * dx + dy * dy > maxDist * maxDist) {
+                    continue; // skip the vertex pairs that exceed the max distance
+                }
+                double weight = dist(startVertex, endVertex);
+                startVertex.neighbors.put(endVertex, weight);
+                endVertex.neighbors.put(startVertex, weight);
+                extraEdges.add(new Pair<>(startVertex, endVertex));
+                changed(); // the edge set changed
+                count++;
+            }
+            if (count == originalCount) { //we haven't successfully added any edges, increase search range
+                maxDist += 50;
+            }
+        }
+        maxDist = originalMaxdist; // restore what it was before adding edges
+    }
+
+    public void decreaseDensity(int densityChange) {
+        for (int i = 0; i < densityChange; i++) {
+            Pair<Vertex, Vertex> pair = extraEdges.remove(0);
+            Vertex startVertex = pair.getFirst();
+            Vertex endVertex = pair.getSecond();
+            startVertex.neighbors.remove(endVertex);
+            endVertex.neighbors.remove(startVertex);
+            changed(); // the edge set changed
+        }
+    }
+
+    public ArrayList<Integer> findNearbyVerticesByIndex(int vertexIndex, WeightedQuickUnion wqu) {
+        // make sure every vertex is connected
+        ArrayList<Integer> nearbyVertices = new ArrayList<>();
+        nearbyVertices.add(vertexIndex);
+        for (int i = 0; i < vertices.size(); i++) {
+            if (wqu.connected(vertexIndex, i) && vertexIndex != i) {
+                nearbyVertices.add(i);
+            }
+        }
+        Collections.shuffle(nearbyVertices, rand);
+        return nearbyVertices;
+    }
+
+    public boolean connectToOtherGroup(int startIndex, int maxDist, WeightedQuickUnion wqu) {
+        Vertex startVertex = vertices.get(startIndex);
+        for (int k = 0; k < vertices.size(); k++) {
+            int j = rand.nextInt(vertices.size());
+            if (startIndex == j) continue;
+            Vertex endVertex = vertices.get(j);
+            int dx = startVertex.x - endVertex.x;
+            int dy = startVertex.y - endVertex.y;
+            if (dx * dx + dy * dy > maxDist * maxDist) {
+                continue; // skip the vertex pairs that exceed the max distance
+            }
+            if (wqu.connected(startIndex, j)) { // skip if already connected
+                continue;
+            }
+            double weight = dist(startVertex, endVertex);
+            startVertex.neighbors.put(endVertex, weight);
+            endVertex.neighbors.put(startVertex, weight);
+            wqu.union(startIndex, j); // union these two since they now belong to the same set
+            changed(); // the edge set changed
+            return true;
+        }
+        return false;
+    }
+
+    public double dist(Vertex startVertex, Vertex endVertex) {
+        return dist(startVertex.x, startVertex.y, endVertex.x, endVertex.y);
+    }
+
+    /**
+     * Returns the straight line distance between two points rounded to one decimal,
+     * which is what every edge weight and heuristic in the graph uses.
+     */
+    public static double dist(int x1, int y1, int x2, int y2) {
+        double dx = (double) x1 - x2; // imported coordinates span millions, their squares overflow an int
+        double dy = (double) y1 - y2;
+
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        distance = Math.round(distance * 10);
+        distance = distance / 10.0; // conv back to double
+        return distance;
+    }
+
+    /**
+     * Checks if the given vertex collides with any of the others that
+     * exist in the graph.
+     *
+     * @param circle The Vertex to check for collisions.
+     * @return returns true if the given Vertex collides
+     */
+    public boolean hasCollision(Vertex circle, int buffer) {
+        int x1 = circle.x;
+        int y1 = circle.y;
+        int r1 = circle.radius;
+        for (Vertex c : vertices) {
+            int x2 = c.x;
+            int y2 = c.y;
+            int r2 = c.radius;
+            int dx = x2 - x1;
+            int dy = y2 - y1;
+            int minDist = r1 + r2 + buffer;
+            if (dx * dx + dy * dy <= minDist * minDist) {
+                return true; // the circle must be further than the sqrt of the sum of the radi squared
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,406 @@
+package playground;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A graph saved in a compact little endian binary file, so a graph can be reused across runs
+ * and machines instead of generated again. The file starts with a fixed header, followed by the
+ * vertex coordinates and the adjacency in CSR form, and optionally the distances of a set of
+ * landmarks and a contraction hierarchy, so that preprocessing is only paid once. Every section
+ * starts at a multiple of 8 bytes and the header holds its offset, 0 for a missing one.
+ *
+ * <pre>
+ *  0 int magic "GRF1"    4 int format version   8 int vertices   12 int width
+ * 16 long arcs          24 int height          28 int maxDist
+ * 32 long coordinates   40 long offsets        48 long targets   56 long weights
+ * 64 long landmarks     72 long hierarchy      80 int ball radius, padded to 88
+ * </pre>
+ *
+ * Reading maps the sections and copies them into heap arrays in bulk. There is nothing to parse,
+ * but the whole file is copied, and the panel then builds a Vertex with a neighbor map for every
+ * vertex on top, so opening a graph costs time and memory in proportion to its size. Searches
+ * that don't need the panel can run straight from the mapped file with {@link OffHeapGraph#map}.
+ * Sections are mapped in pieces of at most a gigabyte, a single mapping can't be larger than 2 GB.
+ * DistanceMatrix files follow the same little endian conventions.
+ */
+public class GraphFile {
+
+    private static final int MAGIC = 0x31465247; // "GRF1" read as a little endian int
+    private static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 88;
+    static final int CHUNK_BYTES = 1 << 30; // the largest piece mapped at once
+    static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    public final CsrGraph graph;
+    public final int width;
+    public final int height;
+    public final int maxDist;
+    public final int ballRadius;
+    private final Landmarks landmarks;
+    private final ContractionHierarchy hierarchy;
+
+    GraphFile(CsrGraph graph, int width, int height, int maxDist, int ballRadius, Landmarks landmarks,
+              ContractionHierarchy hierarchy) {
+        this.graph = graph;
+        this.width = width;
+        this.height = height;
+        this.maxDist = maxDist;
+        this.ballRadius = ballRadius;
+        this.landmarks = landmarks;
+        this.hierarchy = hierarchy;
+    }
+
+    /** Returns the landmarks saved with the graph, or null if there are none. */
+    public Landmarks landmarks() {
+        return landmarks;
+    }
+
+    /** Returns the contraction hierarchy saved with the graph, or null if there is none. */
+    public ContractionHierarchy hierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * Returns an editable Graph with the vertices and edges of the file, for the panel, whose
+     * frozen adjacency is the one read from the file.
+     */
+    public Graph toGraph() {
+        return Graph.of(graph, width, height, maxDist, ballRadius);
+    }
+
+    /** Writes GRAPH as it is now, without preprocessing. */
+    public static void write(Path file, Graph graph) throws IOException {
+        write(file, graph, null, null);
+    }
+
+    /**
+     * Writes GRAPH as it is now with the preprocessing that is still valid for it, LANDMARKS and
+     * HIERARCHY are left out if they are null or were computed before the graph changed.
+     */
+    public static void write(Path file, Graph graph, Landmarks landmarks, ContractionHierarchy hierarchy)
+            throws IOException {
+        CsrGraph adjacency = graph.freeze();
+        int radius = graph.vertices.isEmpty() ? 0 : graph.vertices.get(0).radius;
+        write(file, adjacency, graph.width, graph.height, graph.maxDist, radius,
+                landmarks != null && landmarks.isValidFor(adjacency) ? landmarks : null,
+                hierarchy != null && hierarchy.isValidFor(adjacency) ? hierarchy : null);
+    }
+
+    /**
+     * Writes GRAPH with the area it lives in and optionally preprocessing computed for it.
+     *
+     * @param landmarks Landmarks of GRAPH to save along, or null.
+     * @param hierarchy A contraction hierarchy of GRAPH to save along, or null.
+     */
+    public static void write(Path file, CsrGraph graph, int width, int height, int maxDist, int ballRadius,
+                             Landmarks landmarks, ContractionHierarchy hierarchy) throws IOException {
+        int n = graph.vertexCount();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             Output out = new Output(channel)) {
+            out.skip(HEADER_BYTES);
+            long coordinates = out.position();
+            out.ints(graph.xs, n);
+            out.ints(graph.ys, n);
+            out.align();
+            long offsets = out.position();
+            for (int v = 0; v <= n; v++) {
+                out.putLong(graph.offsets[v]);
+            }
+            long targets = out.position();
+            out.ints(graph.targets, graph.arcCount());
+            out.align();
+            long weights = out.position();
+            out.doubles(graph.weights, graph.arcCount());
+            long landmarkSection = 0;
+            if (landmarks != null) {
+                landmarkSection = out.position();
+                out.putInt(landmarks.count());
+                out.putInt(0);
+                out.ints(landmarks.landmarks, landmarks.count());
+                out.align();
+                for (float[] distances : landmarks.distances) {
+                    out.floats(distances, n);
+                }
+                out.align();
+            }
+            long hierarchySection = 0;
+            if (hierarchy != null) {
+                int m = hierarchy.edgeCount();
+                hierarchySection = out.position();
+                out.putInt(m);
+                out.putInt(0);
+                out.ints(hierarchy.rank, n);
+                out.ints(hierarchy.offsets, n + 1);
+                out.ints(hierarchy.targets, m);
+                out.ints(hierarchy.middles, m);
+                out.align();
+                out.doubles(hierarchy.weights, m);
+            }
+            out.flush();
+
+            writeHeader(channel, n, graph.arcCount(), width, height, maxDist, ballRadius,
+                    new long[] {coordinates, offsets, targets, weights, landmarkSection, hierarchySection});
+        }
+    }
+
+    /**
+     * Maps FILE and reads the graph and whatever preprocessing was saved with it.
+     *
+     * @throws IOException If FILE isn't a graph file of this format or is cut short.
+     */
+    public static GraphFile read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = readHeader(channel, file);
+            int n = header.getInt(8);
+            int width = header.getInt(12);
+            long arcs = header.getLong(16);
+            int height = header.getInt(24);
+            int maxDist = header.getInt(28);
+            if (arcs > Integer.MAX_VALUE) {
+                throw new IOException(file + " has " + arcs + " arcs, more than a CsrGraph can hold, map it as an OffHeapGraph");
+            }
+            int m = (int) arcs;
+            long weightsAt = header.getLong(56);
+            if (n < 0 || m < 0 || weightsAt + 8L * m > size) {
+                throw new IOException(file + " is cut short");
+            }
+            Input in = new Input(channel);
+
+            int[] xs = new int[n];
+            int[] ys = new int[n];
+            in.ints(header.getLong(32), xs);
+            in.ints(header.getLong(32) + 4L * n, ys);
+            long[] longOffsets = new long[n + 1];
+            in.longs(header.getLong(40), longOffsets);
+            int[] offsets = new int[n + 1];
+            for (int v = 0; v <= n; v++) {
+                offsets[v] = (int) longOffsets[v];
+            }
+            int[] targets = new int[m];
+            in.ints(header.getLong(48), targets);
+            double[] weights = new double[m];
+            in.doubles(weightsAt, weights);
+            if (offsets[0] != 0 || offsets[n] != m) {
+                throw new IOException(file + " has a broken adjacency");
+            }
+            CsrGraph graph = new CsrGraph(offsets, targets, weights, xs, ys);
+
+            Landmarks landmarks = null;
+            long at = header.getLong(64);
+            if (at != 0) {
+                ByteBuffer counts = channel.map(FileChannel.MapMode.READ_ONLY, at, 8).order(ByteOrder.LITTLE_ENDIAN);
+                int k = counts.getInt(0);
+                int[] ids = new int[k];
+                in.ints(at + 8, ids);
+                long rows = align(at + 8 + 4L * k);
+                float[][] distances = new float[k][n];
+                for (int i = 0; i < k; i++) {
+                    in.floats(rows + 4L * n * i, distances[i]);
+                }
+                landmarks = new Landmarks(graph, ids, distances);
+            }
+
+            ContractionHierarchy hierarchy = null;
+            at = header.getLong(72);
+            if (at != 0) {
+                ByteBuffer counts = channel.map(FileChannel.MapMode.READ_ONLY, at, 8).order(ByteOrder.LITTLE_ENDIAN);
+                int edges = counts.getInt(0);
+                int[] rank = new int[n];
+                int[] upOffsets = new int[n + 1];
+                int[] upTargets = new int[edges];
+                int[] middles = new int[edges];
+                double[] upWeights = new double[edges];
+                long p = at + 8;
+                in.ints(p, rank);
+                p += 4L * n;
+                in.ints(p, upOffsets);
+                p += 4L * (n + 1);
+                in.ints(p, upTargets);
+                p += 4L * edges;
+                in.ints(p, middles);
+                p = align(p + 4L * edges);
+                in.doubles(p, upWeights);
+                hierarchy = new ContractionHierarchy(graph, rank, upOffsets, upTargets, upWeights, middles);
+            }
+            return new GraphFile(graph, width, height, maxDist, header.getInt(80), landmarks, hierarchy);
+        }
+    }
+
+    /**
+     * Writes the header at the start of CHANNEL.
+     *
+     * @param sections The positions of the coordinates, offsets, targets, weights, landmarks and
+     *                 hierarchy sections, 0 for a missing one.
+     */
+    static void writeHeader(FileChannel channel, int n, long arcs, int width, int height, int maxDist,
+                            int ballRadius, long[] sections) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(n).putInt(width)
+                .putLong(arcs).putInt(height).putInt(maxDist);
+        for (long section : sections) {
+            header.putLong(section);
+        }
+        header.putInt(ballRadius).putInt(0);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    /**
+     * Maps the header of FILE and checks that it is a graph file of this format.
+     */
+    static ByteBuffer readHeader(FileChannel channel, Path file) throws IOException {
+        if (channel.size() < HEADER_BYTES) {
+            throw new IOException(file + " is too short for a graph file");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a graph file");
+        }
+        if (header.getInt(4) != FORMAT_VERSION) {
+            throw new IOException(file + " has format version " + header.getInt(4) + ", expected " + FORMAT_VERSION);
+        }
+        return header;
+    }
+
+    static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    /**
+     * Writes little endian primitives to a channel through one direct buffer.
+     */
+    static class Output implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private long written = 0; // bytes handed to the channel so far
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        long position() {
+            return written + buffer.position();
+        }
+
+        void putInt(int value) throws IOException {
+            room(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            room(8);
+            buffer.putLong(value);
+        }
+
+        void ints(int[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                room(4);
+                buffer.putInt(values[i]);
+            }
+        }
+
+        void floats(float[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                room(4);
+                buffer.putFloat(values[i]);
+            }
+        }
+
+        void doubles(double[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                room(8);
+                buffer.putDouble(values[i]);
+            }
+        }
+
+        /** Writes zeros up to the next multiple of 8. */
+        void align() throws IOException {
+            skip((int) (GraphFile.align(position()) - position()));
+        }
+
+        void skip(int bytes) throws IOException {
+            for (int i = 0; i < bytes; i++) {
+                room(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        private void room(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * Copies arrays out of a channel by mapping them a chunk at a time.
+     */
+    static class Input {
+        private final FileChannel channel;
+
+        Input(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void ints(long at, int[] into) throws IOException {
+            int perChunk = CHUNK_BYTES / 4;
+            for (int from = 0; from < into.length; from += perChunk) {
+                int count = Math.min(perChunk, into.length - from);
+                map(at + 4L * from, 4L * count).asIntBuffer().get(into, from, count);
+            }
+        }
+
+        void longs(long at, long[] into) throws IOException {
+            int perChunk = CHUNK_BYTES / 8;
+            for (int from = 0; from < into.length; from += perChunk) {
+                int count = Math.min(perChunk, into.length - from);
+                map(at + 8L * from, 8L * count).asLongBuffer().get(into, from, count);
+            }
+        }
+
+        void floats(long at, float[] into) throws IOException {
+            int perChunk = CHUNK_BYTES / 4;
+            for (int from = 0; from < into.length; from += perChunk) {
+                int count = Math.min(perChunk, into.length - from);
+                map(at + 4L * from, 4L * count).asFloatBuffer().get(into, from, count);
+            }
+        }
+
+        void doubles(long at, double[] into) throws IOException {
+            int perChunk = CHUNK_BYTES / 8;
+            for (int from = 0; from < into.length; from += perChunk) {
+                int count = Math.min(perChunk, into.length - from);
+                map(at + 8L * from, 8L * count).asDoubleBuffer().get(into, from, count);
+            }
+        }
+
+        private ByteBuffer map(long at, long bytes) throws IOException {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, at, bytes);
+            return mapped.order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package playground;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Imports real graphs from text files: the DIMACS shortest path challenge format, a .gr file of
+ * arcs and a .co file of coordinates, and plain edge lists. Files of tens of millions of arcs are
+ * read without a String or a boxed number per line, a small tokenizer parses the bytes straight
+ * out of a FileChannel. Every file is read twice, once to count the arcs of each vertex and once
+ * to put them in place, so the adjacency is built directly in CSR form and the heap holds little
+ * more than the final arrays.
+ *
+ * Coordinates are moved to start at 0 with y pointing down, as on the panel, and scaled so that
+ * no arc is shorter than the straight line between its ends. The heuristics measure straight
+ * lines in coordinate units, the scaling makes them lower bounds in the units of the weights
+ * whatever those are, microdegrees against meters or against travel times. A graph with an arc
+ * of weight 0 between two places gets all its vertices at the origin, so the heuristics are 0.
+ */
+public class GraphImporter {
+
+    static final int READ_BUFFER_BYTES = 1 << 20;
+    private static final int MAX_SCALE_ATTEMPTS = 16; // rounding rarely needs more than one or two
+
+    /**
+     * Reads a DIMACS graph: GR holds the header "p sp n m" and the arcs "a u v w" with vertices
+     * numbered from 1, CO the coordinates "v id x y". Every arc needs a reverse arc of the same
+     * weight, as in the road networks of the challenge which list both directions of every road:
+     * the searches take the graph as undirected, the backward side of a bidirectional search and
+     * the contraction hierarchy walk the forward arcs.
+     *
+     * @param co The coordinates, or null to put every vertex at the origin.
+     * @throws IOException If a file can't be read or isn't in the format, a weight is negative
+     *                     or an arc has no reverse.
+     */
+    public static GraphFile dimacs(Path gr, Path co) throws IOException {
+        int n = -1;
+        int[] degree = null;
+        try (Tokenizer in = new Tokenizer(gr)) {
+            while (in.nextLine()) {
+                byte kind = in.word();
+                if (kind == 'p') {
+                    in.skipWord(); // "sp"
+                    n = in.nextInt();
+                    degree = new int[n + 1];
+                } else if (kind == 'a') {
+                    if (degree == null) {
+                        throw in.error("arc before the problem line");
+                    }
+                    degree[vertex(in, n) + 1]++;
+                } else if (kind != 'c' && kind != 0) {
+                    throw in.error("unknown line");
+                }
+            }
+        }
+        if (degree == null) {
+            throw new IOException(gr + " has no problem line");
+        }
+
+        int[] offsets = prefixSums(degree);
+        int[] next = Arrays.copyOf(offsets, n);
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        try (Tokenizer in = new Tokenizer(gr)) {
+            while (in.nextLine()) {
+                if (in.word() == 'a') {
+                    int u = vertex(in, n);
+                    int e = next[u]++;
+                    targets[e] = vertex(in, n);
+                    weights[e] = weight(in);
+                }
+            }
+        }
+        checkSymmetric(gr, offsets, targets, weights);
+
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        if (co != null) {
+            try (Tokenizer in = new Tokenizer(co)) {
+                while (in.nextLine()) {
+                    byte kind = in.word();
+                    if (kind == 'v') {
+                        int v = vertex(in, n);
+                        xs[v] = in.nextInt();
+                        ys[v] = -in.nextInt(); // latitude grows north, y grows down
+                    } else if (kind != 'c' && kind != 'p' && kind != 0) {
+                        throw in.error("unknown line");
+                    }
+                }
+            }
+        }
+        return graphFile(new CsrGraph(offsets, targets, weights, xs, ys));
+    }
+
+    /**
+     * Reads an edge list: a line "u v" or "u v w" per undirected edge with vertices numbered from
+     * 0, weight 1 if it's missing. Lines starting with # or % are comments. There are no
+     * coordinates, every vertex is put at the origin.
+     *
+     * @throws IOException If the file can't be read or isn't in the format, or a weight is negative.
+     */
+    public static GraphFile edgeList(Path file) throws IOException {
+        int[] degree = new int[1024]; // degree[v + 1] is the degree of v, grown as larger ids show up
+        int n = 0;
+        try (Tokenizer in = new Tokenizer(file)) {
+            while (in.nextLine()) {
+                if (in.isComment()) {
+                    continue;
+                }
+                int u = in.nextInt();
+                int v = in.nextInt();
+                if (u < 0 || v < 0) {
+                    throw in.error("negative vertex");
+                }
+                int largest = Math.max(u, v);
+                if (largest + 2 > degree.length) {
+                    degree = Arrays.copyOf(degree, Math.max(largest + 2, degree.length * 2));
+                }
+                n = Math.max(n, largest + 1);
+                if (u != v) { // a loop never is on a shortest path
+                    degree[u + 1]++;
+                    degree[v + 1]++;
+                }
+            }
+        }
+
+        int[] offsets = prefixSums(Arrays.copyOf(degree, n + 1));
+        int[] next = Arrays.copyOf(offsets, n);
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        try (Tokenizer in = new Tokenizer(file)) {
+            while (in.nextLine()) {
+                if (in.isComment()) {
+                    continue;
+                }
+                int u = in.nextInt();
+                int v = in.nextInt();
+                double w = in.atLineEnd() ? 1 : weight(in);
+                if (u != v) {
+                    int e = next[u]++;
+                    targets[e] = v;
+                    weights[e] = w;
+                    e = next[v]++;
+                    targets[e] = u;
+                    weights[e] = w;
+                }
+            }
+        }
+        return graphFile(new CsrGraph(offsets, targets, weights, new int[n], new int[n]));
+    }
+
+    /** Reads a DIMACS vertex id numbered from 1 and returns it numbered from 0. */
+    private static int vertex(Tokenizer in, int n) throws IOException {
+        int v = in.nextInt() - 1;
+        if (v < 0 || v >= n) {
+            throw in.error("vertex " + (v + 1) + " out of range 1 .. " + n);
+        }
+        return v;
+    }
+
+    /** Reads a weight, the searches need them to be 0 or more. */
+    private static double weight(Tokenizer in) throws IOException {
+        double w = in.nextDouble();
+        if (w < 0) {
+            throw in.error("negative weight " + w);
+        }
+        return w;
+    }
+
+    /**
+     * Sorts the arcs of every vertex by target and weight and checks that every arc u v w has a
+     * reverse arc v u w, as often as it occurs itself.
+     *
+     * @throws IOException If one doesn't.
+     */
+    private static void checkSymmetric(Path file, int[] offsets, int[] targets, double[] weights) throws IOException {
+        int n = offsets.length - 1;
+        for (int v = 0; v < n; v++) {
+            sortArcs(targets, weights, offsets[v], offsets[v + 1]);
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; ) {
+                int v = targets[e];
+                double w = weights[e];
+                int run = e;
+                while (run < offsets[u + 1] && targets[run] == v && weights[run] == w) {
+                    run++;
+                }
+                int reverse = find(targets, weights, offsets[v], offsets[v + 1], u, w);
+                int reverseRun = reverse;
+                while (reverseRun < offsets[v + 1] && targets[reverseRun] == u && weights[reverseRun] == w) {
+                    reverseRun++;
+                }
+                if (reverseRun - reverse != run - e) {
+                    throw new IOException(file + ": arc " + (u + 1) + " " + (v + 1) + " " + w
+                            + " has no reverse arc of the same weight, only undirected graphs are supported");
+                }
+                e = run;
+            }
+        }
+    }
+
+    /** Sorts the arcs FROM .. TO - 1 by target, then weight. */
+    private static void sortArcs(int[] targets, double[] weights, int from, int to) {
+        if (to - from > 16) { // sort a hub by target first, what's left is sorting arcs to the same target
+            long[] keys = new long[to - from];
+            for (int i = from; i < to; i++) {
+                keys[i - from] = (long) targets[i] << 32 | (i - from);
+            }
+            Arrays.sort(keys);
+            double[] sorted = new double[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                targets[from + i] = (int) (keys[i] >>> 32);
+                sorted[i] = weights[from + (int) keys[i]];
+            }
+            System.arraycopy(sorted, 0, weights, from, sorted.length);
+        }
+        for (int i = from + 1; i < to; i++) { // road networks have a handful of arcs per vertex
+            int t = targets[i];
+            double w = weights[i];
+            int j = i - 1;
+            while (j >= from && (targets[j] > t || (targets[j] == t && weights[j] > w))) {
+                targets[j + 1] = targets[j];
+                weights[j + 1] = weights[j];
+                j--;
+            }
+            targets[j + 1] = t;
+            weights[j + 1] = w;
+        }
+    }
+
+    /** Returns the first of the sorted arcs FROM .. TO - 1 that isn't before (TARGET, WEIGHT). */
+    private static int find(int[] targets, double[] weights, int from, int to, int target, double weight) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (targets[mid] < target || (targets[mid] == target && weights[mid] < weight)) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /** Turns DEGREE, the degree of v at v + 1, into the CSR offsets in place. */
+    private static int[] prefixSums(int[] degree) throws IOException {
+        long total = 0;
+        for (int v = 1; v < degree.length; v++) {
+            total += degree[v];
+            if (total > Integer.MAX_VALUE - 8) {
+                throw new IOException("more than " + (Integer.MAX_VALUE - 8) + " arcs, more than a CsrGraph can hold");
+            }
+            degree[v] = (int) total;
+        }
+        return degree;
+    }
+
+    /**
+     * Moves the coordinates of GRAPH to start at 0, scales them to the weights and wraps it with
+     * the area it covers.
+     */
+    private static GraphFile graphFile(CsrGraph graph) {
+        int n = graph.vertexCount();
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int v = 0; v < n; v++) {
+            minX = Math.min(minX, graph.xs[v]);
+            minY = Math.min(minY, graph.ys[v]);
+            maxX = Math.max(maxX, graph.xs[v]);
+            maxY = Math.max(maxY, graph.ys[v]);
+        }
+        if (n == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        for (int v = 0; v < n; v++) {
+            graph.xs[v] -= minX;
+            graph.ys[v] -= minY;
+        }
+        scaleToWeights(graph, Math.max(maxX - minX, maxY - minY));
+        int width = 0, height = 0;
+        for (int v = 0; v < n; v++) {
+            width = Math.max(width, graph.xs[v]);
+            height = Math.max(height, graph.ys[v]);
+        }
+        return new GraphFile(graph, width + 1, height + 1, 0, 1, null, null);
+    }
+
+    /**
+     * Scales the coordinates of GRAPH, which start at 0 and span EXTENT, by the largest factor
+     * that keeps every arc at least as long as the straight line between its ends. The factor
+     * comes from the ratio of weight to length over all arcs, and is shrunk again while rounding
+     * the coordinates to ints makes some arc come out longer, as Graph.dist measures it. The
+     * scaled coordinates stay below 2^30.
+     */
+    private static void scaleToWeights(CsrGraph graph, int extent) {
+        int n = graph.vertexCount();
+        double scale = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.begin(v); e < graph.end(v); e++) {
+                int u = graph.target(e);
+                double length = Math.hypot((double) graph.xs[v] - graph.xs[u], (double) graph.ys[v] - graph.ys[u]);
+                if (length > 0) {
+                    scale = Math.min(scale, graph.weights[e] / length);
+                }
+            }
+        }
+        if (scale == Double.POSITIVE_INFINITY) {
+            return; // no arc joins two places, nothing to bound
+        }
+        scale = Math.min(scale, (double) (1 << 30) / Math.max(1, extent));
+        int[] xs = graph.xs.clone();
+        int[] ys = graph.ys.clone();
+        for (int attempt = 0; ; attempt++) {
+            for (int v = 0; v < n; v++) {
+                graph.xs[v] = (int) Math.round(xs[v] * scale);
+                graph.ys[v] = (int) Math.round(ys[v] * scale);
+            }
+            double worst = 1; // the smallest ratio of weight to length among the arcs that came out too long
+            for (int v = 0; v < n; v++) {
+                for (int e = graph.begin(v); e < graph.end(v); e++) {
+                    int u = graph.target(e);
+                    double length = Graph.dist(graph.xs[v], graph.ys[v], graph.xs[u], graph.ys[u]);
+                    if (length > graph.weights[e]) {
+                        worst = Math.min(worst, graph.weights[e] / length);
+                    }
+                }
+            }
+            if (worst == 1) {
+                return;
+            }
+            scale = attempt < MAX_SCALE_ATTEMPTS ? scale * worst : 0; // at 0 every arc has length 0
+        }
+    }
+
+    /**
+     * Splits a text file into lines and whitespace separated words, reading the bytes through a
+     * FileChannel into one buffer and parsing numbers from them directly.
+     */
+    private static class Tokenizer implements AutoCloseable {
+        private final Path file;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        private final byte[] bytes = buffer.array();
+        private int position = 0;
+        private int limit = 0;
+        private long line = 0;
+
+        Tokenizer(Path file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        }
+
+        /** Returns the next byte without consuming it, -1 at the end of the file. */
+        private int peek() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return bytes[position];
+        }
+
+        private boolean fill() throws IOException {
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+
+        private void skipBlanks() throws IOException {
+            int c;
+            while ((c = peek()) == ' ' || c == '\t' || c == '\r') {
+                position++;
+            }
+        }
+
+        /**
+         * Skips the rest of the current line and moves to the start of the next one. Returns false
+         * at the end of the file.
+         */
+        boolean nextLine() throws IOException {
+            if (line > 0) {
+                int c;
+                while ((c = peek()) != '\n') {
+                    if (c < 0) {
+                        return false;
+                    }
+                    position++;
+                }
+                position++;
+            }
+            line++;
+            return peek() >= 0;
+        }
+
+        boolean atLineEnd() throws IOException {
+            skipBlanks();
+            int c = peek();
+            return c == '\n' || c < 0;
+        }
+
+        /** Returns true if the current line is empty or a comment. */
+        boolean isComment() throws IOException {
+            skipBlanks();
+            int c = peek();
+            return c == '#' || c == '%' || c == '\n' || c < 0;
+        }
+
+        /** Reads a word and returns its first byte, 0 if the line is empty. */
+        byte word() throws IOException {
+            if (atLineEnd()) {
+                return 0;
+            }
+            byte first = bytes[position];
+            skipWord();
+            return first;
+        }
+
+        void skipWord() throws IOException {
+            skipBlanks();
+            int c;
+            while ((c = peek()) > ' ') {
+                position++;
+            }
+        }
+
+        int nextInt() throws IOException {
+            long value = nextLong();
+            if (value != (int) value) {
+                throw error("number " + value + " out of range");
+            }
+            return (int) value;
+        }
+
+        long nextLong() throws IOException {
+            skipBlanks();
+            boolean negative = false;
+            int c = peek();
+            if (c == '-' || c == '+') {
+                negative = c == '-';
+                position++;
+                c = peek();
+            }
+            if (c < '0' || c > '9') {
+                throw error("expected a number");
+            }
+            long value = 0;
+            while ((c = peek()) >= '0' && c <= '9') {
+                if (value > (Long.MAX_VALUE - 9) / 10) {
+                    throw error("number out of range");
+                }
+                value = value * 10 + (c - '0');
+                position++;
+            }
+            return negative ? -value : value;
+        }
+
+        /** Reads a decimal number like 12, -3.25 or 1.5e3. */
+        double nextDouble() throws IOException {
+            skipBlanks();
+            boolean negative = peek() == '-';
+            double value = Math.abs((double) nextLong()); // handles the sign, but "-0.5" has to keep it
+            int c = peek();
+            if (c == '.') {
+                position++;
+                long fraction = 0;
+                long scale = 1;
+                while ((c = peek()) >= '0' && c <= '9') {
+                    if (scale < 1_000_000_000_000_000L) { // digits past the precision of a double are dropped
+                        fraction = fraction * 10 + (c - '0');
+                        scale *= 10;
+                    }
+                    position++;
+                }
+                value += (double) fraction / scale;
+            }
+            if (c == 'e' || c == 'E') {
+                position++;
+                value *= Math.pow(10, nextLong());
+            }
+            return negative ? -value : value;
+        }
+
+        IOException error(String message) {
+            return new IOException(file + ":" + line + ": " + message);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,702 @@
+package playground;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * This is basically a JPanel component to display the Graph
+ * and allows me to drag the vertices around interactively.
+ * Later this will also include a menu for different graph traversals.
+ *
+ * The mouse wheel zooms and dragging the background pans. Only the vertices in view are
+ * looked up, in the graph's spatial grid, and every edge is drawn once. When the view holds
+ * more vertices than can be told apart, the graph is drawn as tiles shaded by how many vertices
+ * they hold, with the colored vertices of a search on top.
+ */
+class GraphPanel extends JPanel {
+    public Graph graph;
+    private Vertex dragged = null;
+    private int offsetX, offsetY;
+    private static final Font EDGE_WEIGHT_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 10); // define font for edges
+    static final int DETAIL_VERTICES = 20_000; // with more vertices in view the graph is drawn as density tiles
+    static final int ANTIALIAS_VERTICES = 300; // anti-aliasing only pays off for a few vertices
+    static final int DENSITY_TILE = 4; // side of a density tile in pixels
+    static final double LABEL_SCALE = 0.5; // edge weights are only written from this zoom on
+    static final double ZOOM_STEP = 1.25;
+    static final double MIN_SCALE = 1e-6, MAX_SCALE = 64;
+    private static final int[] DENSITY_SHADES = densityShades();
+    private double scale = 1; // pixels per unit of the graph
+    private double panX = 0, panY = 0; // where the origin of the graph is on screen
+    private int panFromX, panFromY; // the screen position the pan started at, minus the pan back then
+    private boolean panning = false;
+    private final IntList inView = new IntList(); // the vertices in view, reused every frame
+    private final IntList colored = new IntList(); // every vertex colored since the last reset, once
+    private int[] colorOf = new int[0]; // the RGB of every vertex in colored, 0 for the others
+    private int[] tileCounts = new int[0]; // vertices per density tile, then the tile's shade
+    private BufferedImage layer = null; // the edges in their resting color, or the density tiles
+    private long layerVersion; // the graph version and the view the layer was drawn for
+    private double layerScale, layerPanX, layerPanY;
+    private boolean layerWeights;
+    private boolean density = false; // whether the layer holds density tiles
+    private boolean smooth = true; // whether few enough vertices are in view for anti-aliasing
+    private int longestEdge = 0; // the widest or tallest edge in the layer, in graph units
+    private int viewMinX, viewMinY, viewMaxX, viewMaxY; // the part of the graph the layer shows
+    private BufferedImage dots = null; // the density tiles with the colored vertices on top
+    private final char[] label = new char[24]; // an edge weight, written from the end
+    public int animationDelay; // the pause in ms after a step of the playback, the searches themselves never wait
+    public int stepsPerFrame = 1 << 14; // the most steps of a search the playback shows in one frame
+    public boolean showEdgeWeights = false;
+    public AstarWorker currentAstarWorker = null;
+    public BidirectionalAstarWorker currentBidirectionalAstarWorker = null;
+    public ReplanningAstarWorker currentReplanningWorker = null; // repairs its path as vertices are dragged
+    public boolean useLandmarks = false; // let A* use ALT heuristics
+    public boolean parallelBidirectional = false; // run the two sides of bidirectional A* on two threads
+    private volatile Landmarks landmarks = null; // computed for the last A* search, or read with the graph
+    private volatile Landmarks.Strategy landmarkStrategy = Landmarks.Strategy.PLANAR; // searches all landmarks in parallel
+    private volatile ContractionHierarchy hierarchy = null; // read with the graph, if the file had one
+    static final int LANDMARK_COUNT = 8;
+    public String status = null; // a line about the last search shown in the corner
+    static final int PATH_CACHE_SIZE = 256;
+    public final PathCache pathCache = new PathCache(PATH_CACHE_SIZE); // the workers' results, dropped once the graph changes
+
+    int n, ball_radius, width, height, maxDist;
+
+    /**
+     * The main logic that constructs the panel
+     *
+     * @param n      The number of vertices
+     * @param width  The width where we can place vertices
+     * @param height The height where we can place vertices
+     */
+    public GraphPanel(int n, int ball_radius, int width, int height, int maxDist) {
+        this(new Graph(n, ball_radius, width, height - 28, maxDist), n, ball_radius, width, height, maxDist); // subtract the constant amount of height taken by the top bar
+    }
+
+    /**
+     * Shows a graph that was saved to a file instead of generating one.
+     * Create Graph still makes random graphs of the panel's size.
+     */
+    public GraphPanel(GraphFile file, int width, int height) {
+        this(file.toGraph(), file.graph.vertexCount(), file.ballRadius, width, height, file.maxDist);
+        this.landmarks = file.landmarks(); // valid as long as the graph isn't changed, like computed ones
+        this.useLandmarks = landmarks != null; // they were saved to be used
+        this.hierarchy = file.hierarchy();
+    }
+
+    private GraphPanel(Graph graph, int n, int ball_radius, int width, int height, int maxDist) {
+        this.n = n; // store the parameters we used to initialize
+        this.ball_radius = ball_radius;
+        this.width = width;
+        this.height = height - 28;
+        this.maxDist = maxDist;
+        this.graph = graph;
+
+        resetView();
+
+        // a listener for dragging
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int x = toGraphX(e.getX());
+                int y = toGraphY(e.getY());
+                dragged = vertexAt(x, y);
+                if (dragged != null) {
+                    offsetX = x - dragged.x;
+                    offsetY = y - dragged.y;
+                } else { // the background, pan
+                    panning = true;
+                    panFromX = e.getX() - (int) panX;
+                    panFromY = e.getY() - (int) panY;
+                }
+            }
+
+            /**
+             * These listeners handle all of the events that we might care about.
+             */
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (dragged != null) {
+                    dragged.x = toGraphX(e.getX()) - offsetX;
+                    dragged.y = toGraphY(e.getY()) - offsetY;
+                    updateEdgeWeights(dragged);
+                    if (currentReplanningWorker != null) {
+                        currentReplanningWorker.vertexMoved(dragged);
+                    }
+                    if (currentAstarWorker != null) {
+                        currentAstarWorker.vertexMoved(dragged); // only the dragged vertex's bound changes
+                    } else if (currentBidirectionalAstarWorker != null) {
+                        currentBidirectionalAstarWorker.vertexMoved(dragged);
+                    }
+                    repaint();
+                } else if (panning) {
+                    panX = e.getX() - panFromX;
+                    panY = e.getY() - panFromY;
+                    repaint();
+                }
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragged = null; // set dragged to null
+                panning = false;
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                double graphX = (e.getX() - panX) / scale; // keep the point under the mouse in place
+                double graphY = (e.getY() - panY) / scale;
+                scale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation())));
+                panX = e.getX() - graphX * scale;
+                panY = e.getY() - graphY * scale;
+                repaint();
+            }
+        };
+
+        addMouseListener(mouse); // add the listener in swing
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    /**
+     * Zooms out until the whole graph fits, for graphs larger than the panel, or back to
+     * one pixel per unit.
+     */
+    public void resetView() {
+        scale = Math.min(1, Math.min((double) width / Math.max(1, graph.width), (double) height / Math.max(1, graph.height)));
+        panX = 0;
+        panY = 0;
+    }
+
+    private int toGraphX(int screenX) {
+        return (int) Math.round((screenX - panX) / scale);
+    }
+
+    private int toGraphY(int screenY) {
+        return (int) Math.round((screenY - panY) / scale);
+    }
+
+    /** Returns the first vertex whose circle contains (X, Y), or null. */
+    private Vertex vertexAt(int x, int y) {
+        if (graph.vertices.isEmpty()) {
+            return null;
+        }
+        for (int v : graph.grid.within(x, y, graph.vertices.get(0).radius)) { // in index order, like a scan
+            if (graph.vertices.get(v).contains(x, y)) {
+                return graph.vertices.get(v);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Changes the graph to a new graph with the same parameters
+     * */
+    public void newGraph(int numOfVertices, int vertexSize) {
+        this.graph = new Graph(numOfVertices, vertexSize, width, height - 28, maxDist);
+        forgetColors();
+        resetView();
+        repaint(); // need to call repaint explicitly so swing knows to run paintComponent
+    }
+
+    /**
+     * Gives V a new color as a search goes on, on the EDT. The vertex and its color are
+     * remembered in arrays, so the zoomed out view draws the colored vertices without looking
+     * at every vertex.
+     */
+    public void colorVertex(Vertex v, Color color) {
+        v.updateColor(color);
+        if (colorOf.length < graph.vertices.size()) {
+            colorOf = Arrays.copyOf(colorOf, graph.vertices.size());
+        }
+        if (colorOf[v.index] == 0) {
+            colored.add(v.index);
+        }
+        colorOf[v.index] = color.getRGB(); // never 0, colors are opaque
+        repaintAround(v);
+    }
+
+    /**
+     * Asks for a repaint of the part of the panel vertex V and its edges cover, e.g. because it
+     * changed color. Swing merges the rectangles asked for before the next paint.
+     */
+    private void repaintAround(Vertex v) {
+        int x = screenX(v.x);
+        int y = screenY(v.y);
+        if (density) {
+            repaint(x - 1, y - 1, 3, 3);
+            return;
+        }
+        int minX = x, maxX = x, minY = y, maxY = y;
+        CsrGraph adjacency = graph.freeze();
+        for (int e = adjacency.begin(v.index); e < adjacency.end(v.index); e++) {
+            Vertex u = graph.vertices.get(adjacency.target(e));
+            minX = Math.min(minX, screenX(u.x));
+            maxX = Math.max(maxX, screenX(u.x));
+            minY = Math.min(minY, screenY(u.y));
+            maxY = Math.max(maxY, screenY(u.y));
+        }
+        int r = (int) Math.ceil(v.radius * scale) + 2; // the circles at both ends and their outline
+        repaint(minX - r, minY - r, maxX - minX + 2 * r, maxY - minY + 2 * r);
+    }
+
+    /** Turns every vertex gray again. */
+    public void resetColors() {
+        for (Vertex v : graph.vertices) {
+            v.color = Color.GRAY;
+        }
+        forgetColors();
+        repaint();
+    }
+
+    private void forgetColors() {
+        for (int i = 0; i < colored.size; i++) {
+            colorOf[colored.get(i)] = 0;
+        }
+        colored.size = 0;
+    }
+
+    /**
+     * Returns the ALT landmarks for ADJACENCY if they are turned on, or null. Landmarks that are
+     * missing or stale because the graph changed are only recomputed if COMPUTE is true, which
+     * the workers pass from their background thread and the drag handler doesn't.
+     */
+    public Landmarks landmarksFor(CsrGraph adjacency, boolean compute) {
+        if (!useLandmarks) {
+            return null;
+        }
+        Landmarks current = landmarks;
+        if (current != null && current.isValidFor(adjacency)) {
+            return current;
+        }
+        if (!compute) {
+            return null;
+        }
+        current = Landmarks.select(adjacency, LANDMARK_COUNT, landmarkStrategy);
+        landmarks = current;
+        return current;
+    }
+
+    public Landmarks.Strategy landmarkStrategy() {
+        return landmarkStrategy;
+    }
+
+    /**
+     * Picks the landmarks with STRATEGY from the next A* search on. PLANAR runs the searches of
+     * all landmarks in parallel, FARTHEST one after the other but usually gives tighter bounds.
+     */
+    public void setLandmarkStrategy(Landmarks.Strategy strategy) {
+        if (strategy != landmarkStrategy) {
+            landmarkStrategy = strategy;
+            landmarks = null;
+        }
+    }
+
+    /**
+     * Returns the contraction hierarchy the graph was read with if it still is valid for
+     * ADJACENCY, or null. Nothing builds one here, preprocessing a large graph takes minutes.
+     */
+    public ContractionHierarchy hierarchyFor(CsrGraph adjacency) {
+        ContractionHierarchy current = hierarchy;
+        return current != null && current.isValidFor(adjacency) ? current : null;
+    }
+
+    /**
+     * Writes the graph to FILE with the landmarks and the contraction hierarchy, as far as they
+     * are still valid for it, so they don't have to be computed again after loading it.
+     */
+    public void save(Path file) throws IOException {
+        GraphFile.write(file, graph, landmarks, hierarchy);
+    }
+
+    public void updateEdgeWeights(Vertex v) {
+        graph.updateEdgeWeights(v); // updates the maps and the frozen adjacency
+    }
+
+
+    /**
+     * Overrides paintComponent() so we can draw the graph's vertices and edges.
+     * The edges are drawn into the static layer, which is only redrawn when the graph or the view
+     * changed, and copied from there. What a search changes is drawn on top, and only in the
+     * clip, which for a vertex that changed color is the part of the panel it and its edges cover.
+     * */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g; //graphics2d for anti-aliasing
+        g2d.setFont(EDGE_WEIGHT_FONT);
+        FontMetrics fm = g2d.getFontMetrics(); // for positioning text
+
+        if (!layerIsCurrent()) {
+            paintLayer();
+        }
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        if (density) {
+            paintDots(clip);
+            g2d.drawImage(dots, 0, 0, null); // only the clip is copied
+        } else {
+            g2d.drawImage(layer, 0, 0, null);
+            paintForeground(g2d, clip);
+        }
+
+        if (status != null) {
+            g2d.setColor(Color.BLACK);
+            g2d.drawString(status, 10, 10 + fm.getAscent());
+        }
+    }
+
+    /**
+     * Returns true if the static layer still shows the graph as it is, in the current view.
+     * Dragging a vertex, changing the density and a new graph all move the graph to a new version.
+     */
+    private boolean layerIsCurrent() {
+        return layer != null && layer.getWidth() == getWidth() && layer.getHeight() == getHeight()
+                && layerVersion == graph.version() && layerScale == scale && layerPanX == panX && layerPanY == panY
+                && layerWeights == showEdgeWeights;
+    }
+
+    /**
+     * Redraws the static layer: every edge in view in its resting color, or the density tiles
+     * if there are too many vertices in view.
+     */
+    private void paintLayer() {
+        int w = Math.max(1, getWidth());
+        int h = Math.max(1, getHeight());
+        if (layer == null || layer.getWidth() != w || layer.getHeight() != h) {
+            layer = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        }
+        layerVersion = graph.version();
+        layerScale = scale;
+        layerPanX = panX;
+        layerPanY = panY;
+        layerWeights = showEdgeWeights;
+
+        // the part of the graph in view, grown by a radius so circles cut by the border are drawn
+        int radius = graph.vertices.isEmpty() ? 0 : graph.vertices.get(0).radius;
+        int minX = toGraphX(0) - radius;
+        int minY = toGraphY(0) - radius;
+        int maxX = toGraphX(w) + radius;
+        int maxY = toGraphY(h) + radius;
+        viewMinX = minX;
+        viewMinY = minY;
+        viewMaxX = maxX;
+        viewMaxY = maxY;
+        double shown = Math.max(0, Math.min(maxX, graph.width) - Math.max(minX, 0))
+                * Math.max(0, Math.min(maxY, graph.height) - Math.max(minY, 0));
+        double expected = graph.vertices.size() * shown / Math.max(1.0, (double) graph.width * graph.height);
+        density = expected > DETAIL_VERTICES;
+        if (density) {
+            paintDensity();
+            return;
+        }
+        inView.size = 0;
+        graph.grid.inRectangle(minX, minY, maxX, maxY, inView);
+        smooth = inView.size < ANTIALIAS_VERTICES;
+        Graphics2D g2d = layer.createGraphics();
+        g2d.setColor(getBackground());
+        g2d.fillRect(0, 0, w, h);
+        g2d.setFont(EDGE_WEIGHT_FONT);
+        paintEdges(g2d, g2d.getFontMetrics(), minX, minY, maxX, maxY);
+        g2d.dispose();
+    }
+
+    /**
+     * Draws the edges of the vertices in view gray, each edge once: from its lower endpoint if
+     * both are in view, otherwise from the one that is.
+     */
+    private void paintEdges(Graphics2D g2d, FontMetrics fm, int minX, int minY, int maxX, int maxY) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, smooth
+                ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2d.setColor(Color.GRAY);
+        CsrGraph adjacency = graph.freeze();
+        boolean labels = showEdgeWeights && scale >= LABEL_SCALE;
+        longestEdge = 0;
+        for (int i = 0; i < inView.size; i++) {
+            int v = inView.get(i);
+            Vertex startVertex = graph.vertices.get(v);
+            for (int e = adjacency.begin(v); e < adjacency.end(v); e++) {
+                Vertex endVertex = graph.vertices.get(adjacency.target(e));
+                if (endVertex.index < v && endVertex.x >= minX && endVertex.x <= maxX
+                        && endVertex.y >= minY && endVertex.y <= maxY) {
+                    continue; // drawn from the other end
+                }
+                drawEdge(g2d, startVertex, endVertex);
+                longestEdge = Math.max(longestEdge, Math.max(Math.abs(endVertex.x - startVertex.x),
+                        Math.abs(endVertex.y - startVertex.y)));
+
+                if (labels) {
+                    int x1 = screenX(startVertex.x), y1 = screenY(startVertex.y);
+                    int x2 = screenX(endVertex.x), y2 = screenY(endVertex.y);
+                    int start = formatWeight(adjacency.weight(e));
+                    int length = label.length - start;
+                    int stringWidth = fm.charsWidth(label, start, length);
+                    g2d.drawChars(label, start, length, (x1 + x2) / 2 - stringWidth / 2, (y1 + y2) / 2 - fm.getAscent() / 2 + 5);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws the edge between A and B, always from the lower index to the higher one: anti-aliased
+     * lines come out slightly different drawn the other way, and a partial repaint has to match.
+     */
+    private void drawEdge(Graphics2D g2d, Vertex a, Vertex b) {
+        if (a.index > b.index) {
+            Vertex swap = a;
+            a = b;
+            b = swap;
+        }
+        g2d.drawLine(screenX(a.x), screenY(a.y), screenX(b.x), screenY(b.y));
+    }
+
+    /**
+     * Draws what isn't in the static layer within CLIP: the edges a search colored, over the
+     * gray ones, and the vertices on top.
+     */
+    private void paintForeground(Graphics2D g2d, Rectangle clip) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, smooth
+                ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        // an edge crossing the clip has both ends within the longest edge of it, but only the
+        // vertices in view have their edges in the layer
+        int grow = graph.vertices.isEmpty() ? 1 : graph.vertices.get(0).radius + 1 + longestEdge;
+        int minX = Math.max(viewMinX, toGraphX(clip.x) - grow);
+        int minY = Math.max(viewMinY, toGraphY(clip.y) - grow);
+        int maxX = Math.min(viewMaxX, toGraphX(clip.x + clip.width) + grow);
+        int maxY = Math.min(viewMaxY, toGraphY(clip.y + clip.height) + grow);
+        inView.size = 0;
+        graph.grid.inRectangle(minX, minY, maxX, maxY, inView);
+
+        CsrGraph adjacency = graph.freeze();
+        int gray = Color.GRAY.getRGB();
+        Color current = null; // the color set on g2d
+        for (int i = 0; i < inView.size; i++) {
+            int v = inView.get(i);
+            Vertex startVertex = graph.vertices.get(v);
+            for (int e = adjacency.begin(v); e < adjacency.end(v); e++) {
+                Vertex endVertex = graph.vertices.get(adjacency.target(e));
+                Color color = edgeColor(startVertex, endVertex);
+                if (color.getRGB() == gray || (endVertex.index < v && endVertex.x >= minX && endVertex.x <= maxX
+                        && endVertex.y >= minY && endVertex.y <= maxY)) {
+                    continue; // in the layer already, or drawn from the other end
+                }
+                if (color != current) { // changing the color is slower than drawing a line
+                    g2d.setColor(color);
+                    current = color;
+                }
+                drawEdge(g2d, startVertex, endVertex);
+            }
+        }
+
+        // draw vertices after so they are on top of edges
+        for (int i = 0; i < inView.size; i++) {
+            Vertex c = graph.vertices.get(inView.get(i));
+            int r = Math.max(1, (int) Math.round(c.radius * scale));
+            int x = screenX(c.x) - r;
+            int y = screenY(c.y) - r;
+            g2d.setColor(c.color);
+            if (r <= 1) {
+                g2d.fillRect(x, y, 2, 2); // too small for a circle
+                continue;
+            }
+            g2d.fillOval(x, y, r * 2, r * 2);
+            g2d.setColor(Color.BLACK);
+            g2d.drawOval(x, y, r * 2, r * 2);
+        }
+    }
+
+    /**
+     * Draws the graph zoomed out into the static layer: counts the vertices in every tile of
+     * DENSITY_TILE pixels and shades the tile by how many there are. Everything is written
+     * straight into the pixels, there are too many tiles for a fillRect each. The positions are
+     * scanned in the frozen arrays, which is faster than going through the vertices.
+     */
+    private void paintDensity() {
+        int w = layer.getWidth();
+        int h = layer.getHeight();
+        int[] pixels = ((DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+        int cols = w / DENSITY_TILE + 1;
+        int rows = h / DENSITY_TILE + 1;
+        int outside = cols * rows; // one more tile for the vertices out of view
+        if (tileCounts.length < outside + 1) {
+            tileCounts = new int[outside + 1];
+        } else {
+            Arrays.fill(tileCounts, 0, outside + 1, 0);
+        }
+        int[] counts = tileCounts;
+        CsrGraph adjacency = graph.freeze();
+        int[] xs = adjacency.xs;
+        int[] ys = adjacency.ys;
+        double scale = this.scale, panX = this.panX, panY = this.panY;
+        for (int v = 0; v < xs.length; v++) {
+            int x = (int) (xs[v] * scale + panX);
+            int y = (int) (ys[v] * scale + panY);
+            // no branch, whether a vertex is in view is as good as random and mispredicting costs more than counting
+            boolean inside = x >= 0 & y >= 0 & x < w & y < h;
+            counts[inside ? (y / DENSITY_TILE) * cols + x / DENSITY_TILE : outside]++;
+        }
+        int max = 0;
+        for (int t = 0; t < outside; t++) {
+            max = Math.max(max, counts[t]);
+        }
+
+        double logMax = Math.log1p(max);
+        int background = getBackground().getRGB();
+        for (int t = 0; t < outside; t++) { // the shade of every tile, in place of its count
+            int count = counts[t];
+            counts[t] = count == 0 ? background
+                    : DENSITY_SHADES[(int) ((DENSITY_SHADES.length - 1) * Math.log1p(count) / logMax)];
+        }
+        for (int y = 0; y < h; y++) {
+            int row = (y / DENSITY_TILE) * cols;
+            for (int x = 0; x < w; x++) {
+                pixels[y * w + x] = counts[row + x / DENSITY_TILE];
+            }
+        }
+    }
+
+    /**
+     * Draws a 3 by 3 dot for every vertex a search colored within CLIP over the density tiles,
+     * into the dots image, which starts out as a copy of the layer in the clip.
+     */
+    private void paintDots(Rectangle clip) {
+        int w = layer.getWidth();
+        int h = layer.getHeight();
+        if (dots == null || dots.getWidth() != w || dots.getHeight() != h) {
+            dots = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        }
+        int[] from = ((DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+        int[] pixels = ((DataBufferInt) dots.getRaster().getDataBuffer()).getData();
+        int minX = Math.max(0, clip.x), maxX = Math.min(w, clip.x + clip.width);
+        int minY = Math.max(0, clip.y), maxY = Math.min(h, clip.y + clip.height);
+        for (int y = minY; y < maxY; y++) {
+            System.arraycopy(from, y * w + minX, pixels, y * w + minX, Math.max(0, maxX - minX));
+        }
+        CsrGraph adjacency = graph.freeze();
+        int[] xs = adjacency.xs;
+        int[] ys = adjacency.ys;
+        int gray = Color.GRAY.getRGB();
+        for (int i = 0; i < colored.size; i++) {
+            int v = colored.get(i);
+            int rgb = colorOf[v];
+            if (rgb == gray) {
+                continue;
+            }
+            int x = screenX(xs[v]);
+            int y = screenY(ys[v]);
+            for (int py = Math.max(minY, y - 1); py <= Math.min(maxY - 1, y + 1); py++) {
+                for (int px = Math.max(minX, x - 1); px <= Math.min(maxX - 1, x + 1); px++) {
+                    pixels[py * w + px] = rgb;
+                }
+            }
+        }
+    }
+
+    /** Returns light to dark grays, as RGB, for tiles with few to many vertices. */
+    private static int[] densityShades() {
+        int[] shades = new int[64];
+        for (int i = 0; i < shades.length; i++) {
+            int level = 220 - i * 200 / (shades.length - 1);
+            shades[i] = new Color(level, level, level).getRGB();
+        }
+        return shades;
+    }
+
+    /**
+     * Returns the color of the edge between A and B: the color of both ends if they match, the
+     * color of the search that reached one end from the start vertex, or blue on the found path.
+     */
+    private Color edgeColor(Vertex a, Vertex b) {
+        if (a.color.getRGB() == b.color.getRGB()) {
+            return a.color;
+        }
+        Vertex start = graph.vertices.get(0);
+        Vertex end = graph.vertices.get(graph.vertices.size() - 1);
+        if (a == start && b.color != Color.BLACK) {
+            return b.color;
+        }
+        if (b == start && a.color != Color.BLACK) {
+            return a.color;
+        }
+        if ((a == end && b.color == Color.BLUE) || (b == end && a.color == Color.BLUE)) {
+            return Color.BLUE;
+        }
+        return Color.GRAY;
+    }
+
+    /**
+     * Writes WEIGHT with one decimal to the end of the label buffer, without allocating, and
+     * returns where it starts.
+     */
+    private int formatWeight(double weight) {
+        long tenths = Math.round(weight * 10);
+        int start = label.length;
+        label[--start] = (char) ('0' + tenths % 10);
+        label[--start] = '.';
+        long whole = tenths / 10;
+        do {
+            label[--start] = (char) ('0' + whole % 10);
+            whole /= 10;
+        } while (whole > 0 && start > 0);
+        return start;
+    }
+
+    private int screenX(int x) {
+        return (int) (x * scale + panX);
+    }
+
+    private int screenY(int y) {
+        return (int) (y * scale + panY);
+    }
+
+    public DfsWorker startDfs() {
+        Vertex start = graph.vertices.get(0);
+        Vertex end = graph.vertices.get(graph.vertices.size() - 1);
+
+        return new DfsWorker(start, end, this);  //we call worker.execute() from ControlPanel
+    }
+
+    public BfsWorker startBfs() {
+        Vertex start = graph.vertices.get(0);
+        Vertex end = graph.vertices.get(graph.vertices.size() - 1);
+
+        return new BfsWorker(start, end, this);  //we call worker.execute() from ControlPanel
+    }
+
+    public DijkstrasWorker startDijkstras() {
+        Vertex start = graph.vertices.get(0);
+        Vertex end = graph.vertices.get(graph.vertices.size() - 1);
+
+        return new DijkstrasWorker(start, end, this);  //we call worker.execute() from ControlPanel
+    }
+
+    public AstarWorker startAstar() {
+        Vertex start = graph.vertices.get(0);
+        Vertex end = graph.vertices.get(graph.vertices.size() - 1);
+
+        return new AstarWorker(start, end, this);  //we call worker.execute() from ControlPanel
+    }
+
+    public BidirectionalAstarWorker startBidirectionalAstar() {
+        Vertex start = graph.vertices.get(0);
+        Vertex end = graph.vertices.get(graph.vertices.size() - 1);
+
+        return new BidirectionalAstarWorker(start, end, this);  //we call worker.execute() from ControlPanel
+    }
+
+    public ReplanningAstarWorker startReplanningAstar() {
+        Vertex start = graph.vertices.get(0);
+        Vertex end = graph.vertices.get(graph.vertices.size() - 1);
+
+        return new ReplanningAstarWorker(start, end, this);  //we call worker.execute() from ControlPanel
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package playground;
+
+/**
+ * Read access to a frozen adjacency in CSR form, whatever holds the arrays. The arcs leaving
+ * vertex v are firstArc(v) .. endArc(v) - 1. Arcs are numbered with longs, so a store can hold
+ * more than 2^31 of them, vertices stay ints. Everything that only reads the arcs, the searches,
+ * landmarks, distance tables and vertex orders, is written against this interface and runs the
+ * same on a CsrGraph on the heap and on an OffHeapGraph. DeltaStepping takes a store too but
+ * copies the arcs into int-indexed arrays, so it refuses a store with more arcs than an array holds.
+ * ContractionHierarchy.build needs a CsrGraph.
+ */
+public interface GraphStore {
+
+    int vertexCount();
+
+    /** Returns the number of arcs, every undirected edge is stored once in each direction. */
+    long arcs();
+
+    /** Returns the first arc of vertex V. */
+    long firstArc(int v);
+
+    /** Returns one past the last arc of vertex V. */
+    long endArc(int v);
+
+    /** Returns the vertex ARC points to. */
+    int target(long arc);
+
+    double weight(long arc);
+
+    int x(int v);
+
+    int y(int v);
+}
@@ -0,0 +1,20 @@
+package playground;
+
+/**
+ * A lower bound on the remaining distance from a vertex to the target of a search.
+ * A* only returns shortest paths if the bound never overestimates.
+ */
+public interface Heuristic {
+
+    /** Returns a lower bound on the distance from vertex V to the target. */
+    double estimate(int v);
+
+    /**
+     * Returns the straight line distance to TARGET, computed on the fly from the vertex coordinates.
+     */
+    static Heuristic euclidean(GraphStore graph, int target) {
+        int tx = graph.x(target);
+        int ty = graph.y(target);
+        return v -> Graph.dist(graph.x(v), graph.y(v), tx, ty);
+    }
+}
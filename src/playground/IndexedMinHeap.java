@@ -0,0 +1,184 @@
+package playground;
+
+import java.util.Arrays;
+
+/**
+ * A 4-ary min heap over the integer keys 0 .. capacity - 1 with double
+ * priorities. A position array remembers where every key sits in the heap,
+ * so a key can be looked up and have its priority lowered in place instead
+ * of being pushed again. The heap never holds more than one entry per key
+ * and doesn't allocate after construction.
+ */
+public class IndexedMinHeap {
+
+    private static final int ARITY = 4;
+
+    private final int[] heap; // heap[i] is the key stored in slot i
+    private final int[] position; // position[key] is the slot of key, or -1 if it isn't in the heap
+    private final double[] priority; // priority[key] is the priority key was last given
+    private int size = 0;
+
+    /** Creates an empty heap that can hold the keys 0 .. CAPACITY - 1. */
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        priority = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Returns true if KEY is currently in the heap. */
+    public boolean contains(int key) {
+        return position[key] >= 0;
+    }
+
+    /** Returns the priority KEY was last inserted or decreased with. */
+    public double priority(int key) {
+        return priority[key];
+    }
+
+    /** Adds KEY with priority P. The key must not already be in the heap. */
+    public void insert(int key, double p) {
+        if (contains(key)) {
+            throw new IllegalArgumentException("key " + key + " is already in the heap");
+        }
+        priority[key] = p;
+        heap[size] = key;
+        position[key] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /** Lowers the priority of KEY to P. P must not be larger than its current priority. */
+    public void decreaseKey(int key, double p) {
+        if (!contains(key)) {
+            throw new IllegalArgumentException("key " + key + " is not in the heap");
+        }
+        if (p > priority[key]) {
+            throw new IllegalArgumentException("priority of key " + key + " can only decrease");
+        }
+        priority[key] = p;
+        siftUp(position[key]);
+    }
+
+    /**
+     * Inserts KEY if it isn't in the heap, otherwise lowers its priority if P is smaller.
+     * Returns true if the heap changed.
+     */
+    public boolean insertOrDecrease(int key, double p) {
+        if (!contains(key)) {
+            insert(key, p);
+            return true;
+        }
+        if (p < priority[key]) {
+            decreaseKey(key, p);
+            return true;
+        }
+        return false;
+    }
+
+    /** Returns the key with the smallest priority without removing it. */
+    public int peek() {
+        return heap[0];
+    }
+
+    /** Returns the smallest priority in the heap. */
+    public double peekPriority() {
+        return priority[heap[0]];
+    }
+
+    /** Removes and returns the key with the smallest priority. */
+    public int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("heap is empty");
+        }
+        int min = heap[0];
+        size--;
+        position[min] = -1;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /** Removes KEY from the heap wherever it sits. Returns true if it was in the heap. */
+    public boolean remove(int key) {
+        int slot = position[key];
+        if (slot < 0) {
+            return false;
+        }
+        size--;
+        position[key] = -1;
+        if (slot < size) { // fill the hole with the last key, which may have to move either way
+            int last = heap[size];
+            heap[slot] = last;
+            position[last] = slot;
+            siftDown(slot);
+            siftUp(position[last]);
+        }
+        return true;
+    }
+
+    /** Removes every key, in time proportional to the number of keys left. */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot) {
+        int key = heap[slot];
+        double p = priority[key];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) / ARITY;
+            int parent = heap[parentSlot];
+            if (priority[parent] <= p) {
+                break;
+            }
+            heap[slot] = parent; // move the parent down instead of swapping
+            position[parent] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = key;
+        position[key] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int key = heap[slot];
+        double p = priority[key];
+        while (true) {
+            int firstChild = slot * ARITY + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + ARITY, size);
+            int minSlot = firstChild;
+            double minPriority = priority[heap[firstChild]];
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                double childPriority = priority[heap[c]];
+                if (childPriority < minPriority) {
+                    minSlot = c;
+                    minPriority = childPriority;
+                }
+            }
+            if (minPriority >= p) {
+                break;
+            }
+            heap[slot] = heap[minSlot]; // move the smallest child up
+            position[heap[slot]] = slot;
+            slot = minSlot;
+        }
+        heap[slot] = key;
+        position[key] = slot;
+    }
+}
@@ -0,0 +1,27 @@
+package playground;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of ints, for the searches that collect vertices without boxing them.
+ * The fields are open so hot loops can read the backing array directly.
+ */
+class IntList {
+    int[] items = new int[16];
+    int size = 0;
+
+    void add(int item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        items[size++] = item;
+    }
+
+    int get(int i) {
+        return items[i];
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(items, size);
+    }
+}
@@ -0,0 +1,198 @@
+package playground;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Preprocessing for ALT (A*, landmarks, triangle inequality) heuristics.
+ * A few landmark vertices store their shortest path distance to every vertex,
+ * and by the triangle inequality |d(L, t) - d(L, v)| is a lower bound on d(v, t)
+ * for every landmark L. On graphs with long detours that bound is much tighter
+ * than the straight line distance, so A* settles far fewer vertices.
+ */
+public class Landmarks {
+
+    public enum Strategy {
+        FARTHEST, // every landmark is the vertex farthest from the ones picked before it
+        PLANAR // the vertex farthest from the center in each of k equal angular sectors
+    }
+
+    final int[] landmarks; // vertex index of every landmark
+    final float[][] distances; // distances[i][v] is the distance from landmark i to vertex v, infinity if unreachable
+    private final GraphStore graph;
+    private final int version;
+
+    Landmarks(GraphStore graph, int[] landmarks, float[][] distances) {
+        this.graph = graph;
+        this.version = versionOf(graph);
+        this.landmarks = landmarks;
+        this.distances = distances;
+    }
+
+    /**
+     * Picks K landmarks with the given strategy and computes their distances, on the common pool.
+     */
+    public static Landmarks select(GraphStore graph, int k, Strategy strategy) {
+        return select(graph, k, strategy, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Picks K landmarks with the given strategy and computes their distances in POOL.
+     * PLANAR picks all landmarks up front and runs one Dijkstra per landmark in parallel,
+     * FARTHEST needs the distances of every landmark to pick the next, so it runs them one by one.
+     */
+    public static Landmarks select(GraphStore graph, int k, Strategy strategy, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        k = Math.min(k, n);
+        int[] landmarks = new int[k];
+        float[][] distances = new float[k][];
+        if (k == 0) {
+            return new Landmarks(graph, landmarks, distances);
+        }
+        if (strategy == Strategy.FARTHEST) {
+            float[] minDist = distancesFrom(graph, 0); // the first landmark is the vertex farthest from vertex 0
+            for (int i = 0; i < k; i++) {
+                landmarks[i] = farthest(minDist);
+                distances[i] = distancesFrom(graph, landmarks[i]);
+                for (int v = 0; v < n; v++) {
+                    minDist[v] = i == 0 ? distances[i][v] : Math.min(minDist[v], distances[i][v]);
+                }
+            }
+        } else {
+            pickPlanar(graph, landmarks);
+            pool.submit(() -> IntStream.range(0, landmarks.length).parallel()
+                    .forEach(i -> distances[i] = distancesFrom(graph, landmarks[i]))).join();
+        }
+        return new Landmarks(graph, landmarks, distances);
+    }
+
+    /**
+     * Returns true if these landmarks were computed on GRAPH and none of its weights changed since.
+     * Only a CsrGraph keeps a version, any other store is taken as unchanged.
+     */
+    public boolean isValidFor(GraphStore graph) {
+        return this.graph == graph && this.version == versionOf(graph);
+    }
+
+    private static int versionOf(GraphStore graph) {
+        return graph instanceof CsrGraph ? ((CsrGraph) graph).version() : 0;
+    }
+
+    public int count() {
+        return landmarks.length;
+    }
+
+    /**
+     * Returns the best triangle inequality lower bound on the distance from V to TARGET.
+     */
+    public double lowerBound(int v, int target) {
+        double best = 0;
+        for (float[] d : distances) {
+            best = Math.max(best, bound(d[v], d[target]));
+        }
+        return best;
+    }
+
+    /**
+     * Returns the larger of the landmark bound and the straight line distance to TARGET.
+     */
+    public Heuristic heuristic(int target) {
+        float[] toTarget = new float[distances.length];
+        for (int i = 0; i < distances.length; i++) {
+            toTarget[i] = distances[i][target];
+        }
+        Heuristic euclidean = Heuristic.euclidean(graph, target);
+        return v -> {
+            double best = euclidean.estimate(v);
+            for (int i = 0; i < toTarget.length; i++) {
+                best = Math.max(best, bound(distances[i][v], toTarget[i]));
+            }
+            return best;
+        };
+    }
+
+    /**
+     * |a - b|, made slightly smaller to make up for the rounding of the float distances,
+     * so it never overestimates.
+     */
+    private static double bound(float a, float b) {
+        if (a == Float.POSITIVE_INFINITY || b == Float.POSITIVE_INFINITY) {
+            return 0; // the landmark can't reach one of them, it can't tell us anything
+        }
+        return Math.max(0, Math.abs((double) a - b) - Math.ulp(a) - Math.ulp(b));
+    }
+
+    private static int farthest(float[] dist) {
+        int best = 0;
+        for (int v = 1; v < dist.length; v++) {
+            if (dist[v] != Float.POSITIVE_INFINITY && dist[v] > dist[best]) {
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Splits the plane around the center of the vertices into LANDMARKS.length sectors
+     * and picks the vertex farthest from the center in each one.
+     */
+    private static void pickPlanar(GraphStore graph, int[] landmarks) {
+        int n = graph.vertexCount();
+        int k = landmarks.length;
+        long sumX = 0;
+        long sumY = 0;
+        for (int v = 0; v < n; v++) {
+            sumX += graph.x(v);
+            sumY += graph.y(v);
+        }
+        double cx = (double) sumX / n;
+        double cy = (double) sumY / n;
+        double[] best = new double[k];
+        Arrays.fill(landmarks, -1);
+        for (int v = 0; v < n; v++) {
+            double dx = graph.x(v) - cx;
+            double dy = graph.y(v) - cy;
+            double angle = Math.atan2(dy, dx) + Math.PI; // 0 .. 2 pi
+            int sector = Math.min(k - 1, (int) (angle / (2 * Math.PI) * k));
+            double squared = dx * dx + dy * dy;
+            if (landmarks[sector] < 0 || squared > best[sector]) {
+                landmarks[sector] = v;
+                best[sector] = squared;
+            }
+        }
+        for (int i = 0; i < k; i++) {
+            if (landmarks[i] < 0) { // an empty sector, reuse a vertex
+                landmarks[i] = i % n;
+            }
+        }
+    }
+
+    /**
+     * Runs Dijkstra's algorithm over the whole graph and returns the distance from SOURCE to every vertex.
+     */
+    static float[] distancesFrom(GraphStore graph, int source) {
+        int n = graph.vertexCount();
+        double[] distTo = new double[n];
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        distTo[source] = 0;
+        IndexedMinHeap pq = new IndexedMinHeap(n);
+        pq.insert(source, 0);
+        while (!pq.isEmpty()) {
+            int v = pq.poll();
+            for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                int u = graph.target(e);
+                double newDist = distTo[v] + graph.weight(e);
+                if (newDist < distTo[u]) {
+                    distTo[u] = newDist;
+                    pq.insertOrDecrease(u, newDist);
+                }
+            }
+        }
+        float[] result = new float[n];
+        for (int v = 0; v < n; v++) {
+            result[v] = (float) distTo[v];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package playground;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Puts a memo in front of a heuristic: the bound of a vertex is computed the first time the
+ * search asks for it and remembered, so a search only pays for the vertices it touches and
+ * nothing is computed up front. When a vertex is dragged only its own bound is forgotten.
+ * When the bounds change everywhere, e.g. the target moved, a new epoch starts and every
+ * remembered bound from an older one is stale, in O(1).
+ *
+ * Estimates are asked for by the search threads and invalidated from the EDT, a bound computed
+ * right while its vertex is dragged can be a move behind until the next drag event. The epoch of
+ * a vertex is published after its value, so a thread that sees the epoch sees the value too.
+ */
+public class LazyHeuristic implements Heuristic {
+
+    private static final VarHandle EPOCH_OF = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final Heuristic bound;
+    private final double[] value;
+    private final int[] epochOf; // the epoch value[v] was computed in, 0 if it never was or is stale
+    private volatile int epoch = 1;
+
+    /**
+     * @param n     The number of vertices.
+     * @param bound The heuristic to remember, it must read the current coordinates.
+     */
+    public LazyHeuristic(int n, Heuristic bound) {
+        this.bound = bound;
+        this.value = new double[n];
+        this.epochOf = new int[n];
+    }
+
+    @Override
+    public double estimate(int v) {
+        int current = epoch;
+        if ((int) EPOCH_OF.getAcquire(epochOf, v) == current) {
+            return value[v];
+        }
+        double h = bound.estimate(v);
+        value[v] = h;
+        EPOCH_OF.setRelease(epochOf, v, current);
+        return h;
+    }
+
+    /** Forgets the bound of V, e.g. because V was moved. */
+    public void invalidate(int v) {
+        EPOCH_OF.setRelease(epochOf, v, 0);
+    }
+
+    /** Forgets every bound. */
+    public void invalidateAll() {
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(epochOf, 0);
+            epoch = 1;
+        } else {
+            epoch++;
+        }
+    }
+}
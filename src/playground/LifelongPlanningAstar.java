@@ -0,0 +1,215 @@
+package playground;
+
+import java.util.Arrays;
+
+/**
+ * Lifelong Planning A* (LPA*, Koenig and Likhachev): A* that keeps its distances between
+ * queries, so after some edge weights changed it only repairs the vertices whose distance
+ * actually depends on them instead of searching again from scratch. Besides its distance g
+ * every vertex has a one step lookahead rhs, the best g of a neighbor plus the edge to it.
+ * Vertices where the two differ are inconsistent and wait in the queue, ordered by
+ * min(g, rhs) plus the heuristic, and the search stops once the end vertex is consistent and
+ * nothing in the queue can lead to it more cheaply.
+ *
+ * The start and end stay fixed, which is the case D* Lite extends to a moving start. The
+ * caller patches the weights in the graph, e.g. through Graph.updateEdgeWeights, and then
+ * reports the moved vertex with {@link #vertexMoved(int)}.
+ *
+ * LPA* needs positive weights: across an edge of length 0 a vertex and the vertex it gave its
+ * distance to tie, and a stale distance can come back around. A vertex dragged right onto a
+ * neighbor makes such an edge, so edges count as at least MIN_WEIGHT long. The cost of the
+ * returned path is summed over the real weights.
+ */
+public class LifelongPlanningAstar {
+
+    static final double MIN_WEIGHT = 1e-6;
+
+    private final GraphStore graph;
+    private final int src;
+    private final int dst;
+    private final Heuristic heuristic;
+    private final double[] g; // distance from src as of the last expansion
+    private final double[] rhs; // best g of a neighbor plus the edge to it, 0 for src
+    private final IndexedMinHeap open; // the inconsistent vertices
+    private final IntList requeue = new IntList(); // scratch for reordering the queue
+
+    /**
+     * Plans from SRC to DST with the straight line distance as the heuristic, computed from the
+     * current coordinates so it stays right as vertices are moved.
+     */
+    public LifelongPlanningAstar(GraphStore graph, int src, int dst) {
+        this(graph, src, dst, Heuristic.euclidean(graph, dst));
+    }
+
+    /**
+     * @param heuristic A lower bound on the distance to DST that never overestimates, also after
+     *                  weights change.
+     */
+    public LifelongPlanningAstar(GraphStore graph, int src, int dst, Heuristic heuristic) {
+        int n = graph.vertexCount();
+        this.graph = graph;
+        this.src = src;
+        this.dst = dst;
+        this.heuristic = heuristic;
+        g = new double[n];
+        rhs = new double[n];
+        open = new IndexedMinHeap(n);
+        restart();
+    }
+
+    /** Forgets every distance, the next computeShortestPath searches from scratch. */
+    private void restart() {
+        Arrays.fill(g, Double.POSITIVE_INFINITY);
+        Arrays.fill(rhs, Double.POSITIVE_INFINITY);
+        rhs[src] = 0;
+        open.clear();
+        open.insert(src, key(src));
+    }
+
+    /**
+     * Expands inconsistent vertices until the distance of the end vertex is right again and
+     * returns the path. The first call is a plain A* search, later calls only repair what the
+     * changes reported since broke. Vertices are marked visited as they get their distance.
+     */
+    public PathResult computeShortestPath(SearchListener listener) {
+        int expanded = 0;
+        int relaxed = 0;
+        // keys that tie with the end vertex's are expanded too: equal keys aren't ordered any further
+        while (!open.isEmpty() && (open.peekPriority() <= key(dst) || rhs[dst] != g[dst])) {
+            int v = open.poll();
+            expanded++;
+            if (g[v] > rhs[v]) { // overconsistent, rhs is its distance
+                g[v] = rhs[v];
+                if (v != src && v != dst) {
+                    listener.mark(v, VertexState.VISITED);
+                }
+                for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                    relaxed++;
+                    int u = graph.target(e);
+                    double through = g[v] + weight(e);
+                    if (u != src && through < rhs[u]) {
+                        rhs[u] = through;
+                        requeue(u);
+                    }
+                }
+            } else { // underconsistent, its distance went up: forget it and let the neighbors look again
+                g[v] = Double.POSITIVE_INFINITY;
+                updateVertex(v);
+                for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                    relaxed++;
+                    updateVertex(graph.target(e));
+                }
+            }
+        }
+        if (g[dst] == Double.POSITIVE_INFINITY) {
+            return PathResult.notFound(expanded, relaxed);
+        }
+        int[] path = walkBack();
+        PathEngine.markPath(path, listener);
+        return new PathResult(path, cost(path), expanded, relaxed);
+    }
+
+    /**
+     * Takes note that vertex V moved and the weights of its edges changed in the graph. Only V
+     * and its neighbors are looked at here, the repair happens in the next computeShortestPath.
+     * Moving the start changes the distance of every vertex, repairing that takes longer than
+     * searching again, so that starts over.
+     */
+    public void vertexMoved(int v) {
+        if (v == src) {
+            restart();
+            return;
+        }
+        if (v == dst) { // the heuristic changed everywhere, the queue has to be reordered
+            while (!open.isEmpty()) {
+                requeue.add(open.poll());
+            }
+            for (int i = 0; i < requeue.size; i++) {
+                requeue(requeue.get(i));
+            }
+            requeue.size = 0;
+        }
+        updateVertex(v);
+        for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+            updateVertex(graph.target(e));
+        }
+    }
+
+    /** Returns the distance from the start to V as of the last computeShortestPath. */
+    public double distance(int v) {
+        return g[v];
+    }
+
+    private double weight(long e) {
+        return Math.max(graph.weight(e), MIN_WEIGHT);
+    }
+
+    private double key(int v) {
+        return Math.min(g[v], rhs[v]) + heuristic.estimate(v);
+    }
+
+    /** Recomputes rhs of V from its neighbors and puts V in the queue if it is inconsistent. */
+    private void updateVertex(int v) {
+        if (v != src) {
+            double best = Double.POSITIVE_INFINITY;
+            for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                best = Math.min(best, g[graph.target(e)] + weight(e));
+            }
+            rhs[v] = best;
+        }
+        requeue(v);
+    }
+
+    /** Takes V out of the queue and puts it back with its current key if it is inconsistent. */
+    private void requeue(int v) {
+        open.remove(v);
+        if (g[v] != rhs[v]) {
+            open.insert(v, key(v));
+        }
+    }
+
+    /** Returns the sum of the weights along PATH. */
+    private double cost(int[] path) {
+        double cost = 0;
+        for (int i = 1; i < path.length; i++) {
+            for (long e = graph.firstArc(path[i - 1]); e < graph.endArc(path[i - 1]); e++) {
+                if (graph.target(e) == path[i]) {
+                    cost += graph.weight(e);
+                    break;
+                }
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Follows the neighbors that give every vertex its distance from the end back to the start.
+     */
+    private int[] walkBack() {
+        IntList reversed = new IntList();
+        int v = dst;
+        reversed.add(v);
+        while (v != src) {
+            int best = -1;
+            double bestDist = Double.POSITIVE_INFINITY;
+            for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                int u = graph.target(e);
+                double through = g[u] + weight(e);
+                if (through < bestDist) {
+                    bestDist = through;
+                    best = u;
+                }
+            }
+            if (best < 0 || reversed.size > graph.vertexCount()) {
+                throw new IllegalStateException("no consistent path back from " + v);
+            }
+            v = best;
+            reversed.add(v);
+        }
+        int[] path = new int[reversed.size];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = reversed.get(path.length - 1 - i);
+        }
+        return path;
+    }
+}
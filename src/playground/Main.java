@@ -0,0 +1,64 @@
+package playground;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * This is where we enter the program and initialize
+ * the frame and the graph panel with the height and
+ * width that we want. (And the right amount of balls)
+ */
+public class Main {
+    /**
+     * Starts with a random graph, or with the graph in the file given as the first argument.
+     */
+    public static void main(String[] args) throws IOException {
+        JFrame frame = new JFrame("Draggable Circles");
+        frame.setLayout(new BorderLayout());
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        int width = 1000;
+        int height = 800;
+        int num_balls = 50; //90
+        int ball_radius = 25; //25
+        int max_edge_dist = 10; //100
+        GraphPanel graphPanel = args.length > 0
+                ? new GraphPanel(load(Paths.get(args[0])), width, height)
+                : new GraphPanel(num_balls, ball_radius, width, height, max_edge_dist);
+        frame.add(graphPanel);
+
+
+        int controlPanelWidth = 250;
+        ControlPanel controlPanel = new ControlPanel(graphPanel); // pass the graph panel so we can control it
+        controlPanel.setPreferredSize(new Dimension(controlPanelWidth, height));
+
+        frame.add(graphPanel, BorderLayout.CENTER);
+        frame.add(controlPanel, BorderLayout.EAST);
+
+        frame.setSize(width + controlPanelWidth, height);
+        frame.setVisible(true);
+    }
+
+    /**
+     * Reads a DIMACS .gr file, with the coordinates from the .co file next to it if there is one,
+     * an edge list ending in .txt or .edges, or else a saved graph file.
+     */
+    private static GraphFile load(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".gr")) {
+            Path co = file.resolveSibling(name.substring(0, name.length() - 3) + ".co");
+            return GraphImporter.dimacs(file, Files.exists(co) ? co : null);
+        }
+        if (name.endsWith(".txt") || name.endsWith(".edges")) {
+            return GraphImporter.edgeList(file);
+        }
+        return GraphFile.read(file);
+    }
+}
+
+
+
+
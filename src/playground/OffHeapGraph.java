@@ -0,0 +1,272 @@
+package playground;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A frozen adjacency in CSR form whose arrays live outside the heap, in direct buffers or mapped
+ * straight from a graph file, so graphs with billions of arcs neither need a heap that big nor
+ * make the collector walk them. Arcs are numbered with longs. The arrays are split into pages of
+ * a gigabyte, a single buffer can't be larger than 2 GB, and every page holds whole elements.
+ *
+ * Mapping a graph file reads nothing up front, the pages are loaded as the searches touch them.
+ * The buffers are freed when the collector finds the graph unreachable, there is no way to free
+ * them earlier. Direct buffers count against -XX:MaxDirectMemorySize, mapped ones don't.
+ */
+public class OffHeapGraph implements GraphStore {
+
+    static final int PAGE_SHIFT = 30;
+
+    private final int n;
+    private final long arcs;
+    public final int width;
+    public final int height;
+    private final Pages xs;
+    private final Pages ys;
+    private final Pages offsets; // longs, offsets[n] is the number of arcs
+    private final Pages targets;
+    private final Pages weights;
+
+    private OffHeapGraph(int n, long arcs, int width, int height, Pages xs, Pages ys, Pages offsets,
+                         Pages targets, Pages weights) {
+        this.n = n;
+        this.arcs = arcs;
+        this.width = width;
+        this.height = height;
+        this.xs = xs;
+        this.ys = ys;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Allocates an empty graph with N vertices and ARCS arcs in direct buffers, to be filled
+     * with the setters.
+     */
+    public static OffHeapGraph allocate(int n, long arcs) {
+        return allocate(n, arcs, PAGE_SHIFT);
+    }
+
+    /** Like {@link #allocate(int, long)}, with pages of 2^PAGE_SHIFT bytes. */
+    static OffHeapGraph allocate(int n, long arcs, int pageShift) {
+        checkSize(n, arcs);
+        return new OffHeapGraph(n, arcs, 0, 0, Pages.allocate(4L * n, pageShift), Pages.allocate(4L * n, pageShift),
+                Pages.allocate(8L * (n + 1), pageShift), Pages.allocate(4L * arcs, pageShift),
+                Pages.allocate(8L * arcs, pageShift));
+    }
+
+    /** Copies GRAPH out of the heap. */
+    public static OffHeapGraph copyOf(GraphStore graph) {
+        OffHeapGraph copy = allocate(graph.vertexCount(), graph.arcs());
+        copy.fill(graph);
+        return copy;
+    }
+
+    /**
+     * Creates FILE as a graph file with N vertices and ARCS arcs and maps it for writing, to be
+     * filled with the setters. Whatever is set ends up in the file, flush makes sure it's on disk.
+     * The file can be mapped again with {@link #map(Path)}, or read by GraphFile if the arcs fit
+     * in a CsrGraph.
+     */
+    public static OffHeapGraph create(Path file, int n, long arcs, int width, int height) throws IOException {
+        checkSize(n, arcs);
+        long coordinates = GraphFile.HEADER_BYTES;
+        long offsetsAt = GraphFile.align(coordinates + 8L * n);
+        long targetsAt = offsetsAt + 8L * (n + 1);
+        long weightsAt = GraphFile.align(targetsAt + 4L * arcs);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            GraphFile.writeHeader(channel, n, arcs, width, height, 0, 1,
+                    new long[] {coordinates, offsetsAt, targetsAt, weightsAt, 0, 0});
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_WRITE; // maps past the end grow the file
+            return new OffHeapGraph(n, arcs, width, height,
+                    Pages.map(channel, mode, coordinates, 4L * n), Pages.map(channel, mode, coordinates + 4L * n, 4L * n),
+                    Pages.map(channel, mode, offsetsAt, 8L * (n + 1)), Pages.map(channel, mode, targetsAt, 4L * arcs),
+                    Pages.map(channel, mode, weightsAt, 8L * arcs));
+        }
+    }
+
+    /**
+     * Maps the graph in FILE, a graph file written by GraphFile or created here, for reading.
+     * Unlike GraphFile.read there is no limit on the number of arcs.
+     *
+     * @throws IOException If FILE isn't a graph file or is cut short.
+     */
+    public static OffHeapGraph map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = GraphFile.readHeader(channel, file);
+            int n = header.getInt(8);
+            long arcs = header.getLong(16);
+            long coordinates = header.getLong(32);
+            long weightsAt = header.getLong(56);
+            if (n < 1 || arcs < 0 || weightsAt + 8L * arcs > channel.size()) {
+                throw new IOException(file + " is cut short");
+            }
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_ONLY;
+            OffHeapGraph graph = new OffHeapGraph(n, arcs, header.getInt(12), header.getInt(24),
+                    Pages.map(channel, mode, coordinates, 4L * n), Pages.map(channel, mode, coordinates + 4L * n, 4L * n),
+                    Pages.map(channel, mode, header.getLong(40), 8L * (n + 1)),
+                    Pages.map(channel, mode, header.getLong(48), 4L * arcs), Pages.map(channel, mode, weightsAt, 8L * arcs));
+            if (graph.firstArc(0) != 0 || graph.endArc(n - 1) != arcs) {
+                throw new IOException(file + " has a broken adjacency");
+            }
+            return graph;
+        }
+    }
+
+    private static void checkSize(int n, long arcs) {
+        if (n < 1 || arcs < 0) {
+            throw new IllegalArgumentException("can't hold " + n + " vertices and " + arcs + " arcs");
+        }
+    }
+
+    /** Copies the vertices and arcs of GRAPH, which must have the same size. */
+    private void fill(GraphStore graph) {
+        for (int v = 0; v < n; v++) {
+            setCoordinates(v, graph.x(v), graph.y(v));
+            setFirstArc(v, graph.firstArc(v));
+            for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                setArc(e, graph.target(e), graph.weight(e));
+            }
+        }
+        setFirstArc(n, arcs);
+    }
+
+    public void setCoordinates(int v, int x, int y) {
+        xs.putInt(4L * v, x);
+        ys.putInt(4L * v, y);
+    }
+
+    /**
+     * Sets the first arc of V, the arcs of V end where those of V + 1 start. The first arc of
+     * vertex N, one past the last vertex, is the number of arcs.
+     */
+    public void setFirstArc(int v, long arc) {
+        offsets.putLong(8L * v, arc);
+    }
+
+    public void setArc(long arc, int target, double weight) {
+        targets.putInt(4L * arc, target);
+        weights.putDouble(8L * arc, weight);
+    }
+
+    /** Writes what was set to the disk if the graph was created in a file. */
+    public void flush() {
+        for (Pages pages : new Pages[] {xs, ys, offsets, targets, weights}) {
+            pages.force();
+        }
+    }
+
+    @Override
+    public int vertexCount() {
+        return n;
+    }
+
+    @Override
+    public long arcs() {
+        return arcs;
+    }
+
+    @Override
+    public long firstArc(int v) {
+        return offsets.getLong(8L * v);
+    }
+
+    @Override
+    public long endArc(int v) {
+        return offsets.getLong(8L * v + 8);
+    }
+
+    @Override
+    public int target(long arc) {
+        return targets.getInt(4L * arc);
+    }
+
+    @Override
+    public double weight(long arc) {
+        return weights.getDouble(8L * arc);
+    }
+
+    @Override
+    public int x(int v) {
+        return xs.getInt(4L * v);
+    }
+
+    @Override
+    public int y(int v) {
+        return ys.getInt(4L * v);
+    }
+
+    /**
+     * A little endian array of primitives over buffers of 2^shift bytes each, addressed by the
+     * long byte offset of an element. Elements are aligned to their size, so none spans two pages.
+     */
+    private static class Pages {
+        private final ByteBuffer[] pages;
+        private final int shift;
+        private final long mask;
+
+        private Pages(ByteBuffer[] pages, int shift) {
+            this.pages = pages;
+            this.shift = shift;
+            this.mask = (1L << shift) - 1;
+        }
+
+        static Pages allocate(long bytes, int shift) {
+            ByteBuffer[] pages = new ByteBuffer[(int) ((bytes + (1L << shift) - 1) >>> shift)];
+            for (int i = 0; i < pages.length; i++) {
+                int size = (int) Math.min(1L << shift, bytes - ((long) i << shift));
+                pages[i] = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new Pages(pages, shift);
+        }
+
+        static Pages map(FileChannel channel, FileChannel.MapMode mode, long position, long bytes) throws IOException {
+            ByteBuffer[] pages = new ByteBuffer[(int) ((bytes + (1L << PAGE_SHIFT) - 1) >>> PAGE_SHIFT)];
+            for (int i = 0; i < pages.length; i++) {
+                long start = (long) i << PAGE_SHIFT;
+                long size = Math.min(1L << PAGE_SHIFT, bytes - start);
+                pages[i] = channel.map(mode, position + start, size).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new Pages(pages, PAGE_SHIFT);
+        }
+
+        int getInt(long at) {
+            return pages[(int) (at >>> shift)].getInt((int) (at & mask));
+        }
+
+        long getLong(long at) {
+            return pages[(int) (at >>> shift)].getLong((int) (at & mask));
+        }
+
+        double getDouble(long at) {
+            return pages[(int) (at >>> shift)].getDouble((int) (at & mask));
+        }
+
+        void putInt(long at, int value) {
+            pages[(int) (at >>> shift)].putInt((int) (at & mask), value);
+        }
+
+        void putLong(long at, long value) {
+            pages[(int) (at >>> shift)].putLong((int) (at & mask), value);
+        }
+
+        void putDouble(long at, double value) {
+            pages[(int) (at >>> shift)].putDouble((int) (at & mask), value);
+        }
+
+        void force() {
+            for (ByteBuffer page : pages) {
+                if (page instanceof MappedByteBuffer) {
+                    ((MappedByteBuffer) page).force();
+                }
+            }
+        }
+    }
+}
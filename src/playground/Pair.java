@@ -1,3 +1,5 @@
+package playground;
+
 import java.util.Objects;
 
 public class Pair<T, U> {
@@ -0,0 +1,242 @@
+package playground;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Level synchronous parallel breadth first search that switches direction (Beamer et al.).
+ * While the frontier is small every frontier vertex claims its unvisited neighbors top-down,
+ * with a compare and set on the parent array. Once the frontier's edges outnumber a fraction of
+ * the unvisited vertices' edges it is cheaper to go bottom-up: every unvisited vertex looks for
+ * any neighbor in the frontier bitmap and stops at the first one. It switches back when the
+ * frontier gets small again. Either way every level is split over a ForkJoinPool.
+ */
+public class ParallelBfs {
+
+    static final int ALPHA = 14; // go bottom-up once the frontier has more than 1 / ALPHA of the unvisited edges
+    static final int BETA = 24; // go top-down again once the frontier has fewer than 1 / BETA of the vertices
+    static final int GRAIN = 1024; // frontier vertices per top-down task
+    static final int WORD_GRAIN = 64; // bitmap words, of 64 vertices each, per bottom-up task
+    private static final VarHandle PARENT = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final GraphStore graph;
+    private final ForkJoinPool pool;
+
+    public ParallelBfs(GraphStore graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBfs(GraphStore graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * The breadth first tree of a search, with the number of edges from the source to every vertex.
+     */
+    public static class Result {
+        public final int source;
+        public final int[] parent; // parent[v] is the vertex v was reached from, the source for itself and -1 if unreached
+        public final int[] hops; // hops[v] is the fewest edges from the source to v, -1 if unreached
+        public final int reached;
+        public final int levels;
+        public final int bottomUpLevels;
+
+        Result(int source, int[] parent, int[] hops, int reached, int levels, int bottomUpLevels) {
+            this.source = source;
+            this.parent = parent;
+            this.hops = hops;
+            this.reached = reached;
+            this.levels = levels;
+            this.bottomUpLevels = bottomUpLevels;
+        }
+
+        public boolean reaches(int v) {
+            return parent[v] >= 0;
+        }
+
+        /** Returns a path from the source to DST with the fewest edges, or null if DST wasn't reached. */
+        public int[] pathTo(int dst) {
+            return reaches(dst) ? PathResult.walkBack(parent, source, dst) : null;
+        }
+    }
+
+    /**
+     * Runs the search from SOURCE over the whole graph.
+     */
+    public Result search(int source) {
+        int n = graph.vertexCount();
+        int[] parent = new int[n];
+        int[] hops = new int[n];
+        Arrays.fill(parent, -1);
+        Arrays.fill(hops, -1);
+        parent[source] = source;
+        hops[source] = 0;
+
+        int[] frontier = {source}; // the frontier as a list while going top-down
+        int frontierSize = 1;
+        long[] bitmap = null; // the frontier as a bitmap while going bottom-up
+        long[] visited = null; // the visited vertices as a bitmap while going bottom-up
+        boolean bottomUp = false;
+        long frontierEdges = degree(source);
+        long unvisitedEdges = graph.arcs() - frontierEdges;
+        int reached = 1;
+        int level = 0;
+        int bottomUpLevels = 0;
+
+        while (frontierSize > 0) {
+            if (!bottomUp && frontierEdges > unvisitedEdges / ALPHA) {
+                bitmap = toBitmap(frontier, frontierSize, n);
+                visited = visitedBitmap(parent);
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                frontier = toList(bitmap, frontierSize);
+                visited = null;
+                bottomUp = false;
+            }
+
+            long[] counts; // vertices and edges of the next frontier
+            if (bottomUp) {
+                long[] next = new long[bitmap.length];
+                counts = bottomUpStep(bitmap, next, visited, parent, hops, level + 1);
+                bitmap = next;
+                bottomUpLevels++;
+            } else {
+                IntList next = topDownStep(frontier, frontierSize, parent, hops, level + 1);
+                frontier = next.items;
+                counts = new long[] {next.size, 0};
+                for (int i = 0; i < next.size; i++) {
+                    counts[1] += degree(next.items[i]);
+                }
+            }
+            frontierSize = (int) counts[0];
+            frontierEdges = counts[1];
+            unvisitedEdges -= frontierEdges;
+            reached += frontierSize;
+            level++;
+        }
+        return new Result(source, parent, hops, reached, level, bottomUpLevels);
+    }
+
+    /**
+     * Lets every vertex of the frontier claim its unvisited neighbors and returns them.
+     */
+    private IntList topDownStep(int[] frontier, int size, int[] parent, int[] hops, int level) {
+        int chunks = (size + GRAIN - 1) / GRAIN;
+        IntList[] found = new IntList[chunks];
+        parallelFor(chunks, c -> {
+            IntList out = new IntList();
+            for (int i = c * GRAIN; i < Math.min(size, (c + 1) * GRAIN); i++) {
+                int v = frontier[i];
+                for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                    int u = graph.target(e);
+                    if ((int) PARENT.getVolatile(parent, u) == -1 && PARENT.compareAndSet(parent, u, -1, v)) {
+                        hops[u] = level;
+                        out.add(u);
+                    }
+                }
+            }
+            found[c] = out;
+        });
+        if (chunks == 1) {
+            return found[0];
+        }
+        IntList next = new IntList();
+        for (IntList list : found) {
+            for (int i = 0; i < list.size; i++) {
+                next.add(list.items[i]);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Lets every unvisited vertex look for a neighbor in FRONTIER and sets its bit in NEXT and
+     * VISITED if it has one. Only the clear bits of VISITED are looked at, so the levels at the end,
+     * when almost everything has been visited, stay cheap. Tasks own whole bitmap words, so they
+     * never write to the same word or vertex. Returns the number of vertices and edges of the next frontier.
+     */
+    private long[] bottomUpStep(long[] frontier, long[] next, long[] visited, int[] parent, int[] hops, int level) {
+        int n = graph.vertexCount();
+        int chunks = (frontier.length + WORD_GRAIN - 1) / WORD_GRAIN;
+        long[] vertexCounts = new long[chunks];
+        long[] edgeCounts = new long[chunks];
+        parallelFor(chunks, c -> {
+            for (int w = c * WORD_GRAIN; w < Math.min(frontier.length, (c + 1) * WORD_GRAIN); w++) {
+                long bits = 0;
+                long unvisited = ~visited[w];
+                if (w == frontier.length - 1 && (n & 63) != 0) {
+                    unvisited &= (1L << n) - 1; // no vertices past the end
+                }
+                for (; unvisited != 0; unvisited &= unvisited - 1) {
+                    int v = (w << 6) + Long.numberOfTrailingZeros(unvisited);
+                    for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                        int u = graph.target(e);
+                        if ((frontier[u >>> 6] & (1L << u)) != 0) {
+                            parent[v] = u;
+                            hops[v] = level;
+                            bits |= 1L << v;
+                            vertexCounts[c]++;
+                            edgeCounts[c] += degree(v);
+                            break;
+                        }
+                    }
+                }
+                next[w] = bits;
+                visited[w] |= bits;
+            }
+        });
+        long[] counts = new long[2];
+        for (int c = 0; c < chunks; c++) {
+            counts[0] += vertexCounts[c];
+            counts[1] += edgeCounts[c];
+        }
+        return counts;
+    }
+
+    /** Runs BODY for 0 .. CHUNKS - 1 on the pool, or on this thread if there is only one chunk. */
+    private void parallelFor(int chunks, IntConsumer body) {
+        if (chunks == 1) {
+            body.accept(0);
+        } else {
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(body)).join();
+        }
+    }
+
+    private long degree(int v) {
+        return graph.endArc(v) - graph.firstArc(v);
+    }
+
+    private static long[] toBitmap(int[] list, int size, int n) {
+        long[] bitmap = new long[(n + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            bitmap[list[i] >>> 6] |= 1L << list[i];
+        }
+        return bitmap;
+    }
+
+    private static long[] visitedBitmap(int[] parent) {
+        long[] bitmap = new long[(parent.length + 63) >>> 6];
+        for (int v = 0; v < parent.length; v++) {
+            if (parent[v] != -1) {
+                bitmap[v >>> 6] |= 1L << v;
+            }
+        }
+        return bitmap;
+    }
+
+    private static int[] toList(long[] bitmap, int size) {
+        int[] list = new int[size];
+        int i = 0;
+        for (int w = 0; w < bitmap.length; w++) {
+            for (long bits = bitmap[w]; bits != 0; bits &= bits - 1) {
+                list[i++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return list;
+    }
+}
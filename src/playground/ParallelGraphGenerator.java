@@ -0,0 +1,166 @@
+package playground;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates large random graphs on all cores. The plane is cut into square
+ * tiles and every tile places its share of the vertices and connects them
+ * with Boruvka's algorithm in its own fork/join task, with its own
+ * SplittableRandom split off the seed in tile order. The tiles are then
+ * stitched together with the nearest edges between them, so the graph is
+ * connected and the same seed always gives the same graph, no matter how
+ * many threads built it.
+ */
+public class ParallelGraphGenerator {
+
+    static final int VERTICES_PER_TILE = 4096;
+    static final int BUFFER = 15; // minimum space between two vertices, like Graph.addVertices
+    static final int MAX_ATTEMPTS = 1000000; // failed placements over all tiles, like Graph.addVertices
+
+    private final ForkJoinPool pool;
+
+    public ParallelGraphGenerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelGraphGenerator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Generates a connected graph with up to NUM_VERTICES randomly placed vertices.
+     * Takes the same parameters as the Graph constructor.
+     */
+    public Graph generate(int num_vertices, int ball_radius, int width, int height, int maxDist, long seed) {
+        int minDist = 2 * ball_radius + BUFFER;
+        int tileSize = Math.max(4 * minDist,
+                (int) Math.sqrt((double) width * height * VERTICES_PER_TILE / Math.max(1, num_vertices)));
+        int tilesX = (width + tileSize - 1) / tileSize;
+        int tilesY = (height + tileSize - 1) / tileSize;
+        Tile[] tiles = new Tile[tilesX * tilesY];
+        SplittableRandom root = new SplittableRandom(seed);
+        long totalArea = (long) width * height;
+        long areaSoFar = 0;
+        int assigned = 0;
+        for (int ty = 0; ty < tilesY; ty++) {
+            for (int tx = 0; tx < tilesX; tx++) {
+                int x0 = tx * tileSize;
+                int y0 = ty * tileSize;
+                int x1 = Math.min(width, x0 + tileSize);
+                int y1 = Math.min(height, y0 + tileSize);
+                areaSoFar += (long) (x1 - x0) * (y1 - y0);
+                int upTo = (int) (num_vertices * areaSoFar / totalArea); // every tile gets its share of the area
+                tiles[ty * tilesX + tx] = new Tile(x0, y0, x1, y1, upTo - assigned, root.split());
+                assigned = upTo;
+            }
+        }
+
+        int maxAttempts = Math.max(1000, MAX_ATTEMPTS / tiles.length);
+        pool.invoke(new TileTask(tiles, 0, tiles.length, ball_radius, width, height, maxAttempts));
+
+        // merge the tiles in order, so the vertex indices don't depend on which task finished first
+        int total = 0;
+        for (Tile tile : tiles) {
+            total += tile.placed.size();
+        }
+        Graph graph = new Graph(width, height, maxDist, seed, minDist);
+        WeightedQuickUnion wqu = new WeightedQuickUnion(total);
+        for (Tile tile : tiles) {
+            int offset = graph.vertices.size();
+            for (int i = 0; i < tile.placed.size(); i++) {
+                graph.addVertex(tile.x0 + tile.placed.x(i), tile.y0 + tile.placed.y(i), ball_radius);
+            }
+            for (int k = 0; k < tile.edges.length; k += 2) {
+                int u = offset + tile.edges[k];
+                int v = offset + tile.edges[k + 1];
+                graph.addEdge(graph.vertices.get(u), graph.vertices.get(v));
+                wqu.union(u, v);
+            }
+        }
+        graph.connectNearest(wqu); // stitch the tiles together
+        return graph;
+    }
+
+    /**
+     * A rectangle of the plane and the vertices and edges generated inside of it.
+     * Coordinates of the placed vertices are relative to the corner of the tile.
+     */
+    private static class Tile {
+        final int x0, y0, x1, y1;
+        final int quota;
+        final SplittableRandom rand;
+        SpatialGrid placed;
+        int[] edges; // pairs of indices into placed
+
+        Tile(int x0, int y0, int x1, int y1, int quota, SplittableRandom rand) {
+            this.x0 = x0;
+            this.y0 = y0;
+            this.x1 = x1;
+            this.y1 = y1;
+            this.quota = quota;
+            this.rand = rand;
+        }
+
+        /**
+         * Places the vertices of this tile and connects them. Vertices keep half the minimum
+         * distance away from the tile border, so they can't collide with another tile's.
+         */
+        void build(int ball_radius, int width, int height, int maxAttempts) {
+            int minDist = 2 * ball_radius + BUFFER;
+            int margin = (minDist + 1) / 2;
+            int loX = Math.max(x0 + margin, ball_radius);
+            int hiX = Math.min(x1 - margin, width - ball_radius);
+            int loY = Math.max(y0 + margin, ball_radius);
+            int hiY = Math.min(y1 - margin, height - ball_radius);
+            placed = new SpatialGrid(x1 - x0, y1 - y0, minDist);
+            int attempts = 0;
+            while (placed.size() < quota && loX < hiX && loY < hiY) {
+                if (attempts > maxAttempts) {
+                    break;
+                }
+                int x = rand.nextInt(loX, hiX) - x0;
+                int y = rand.nextInt(loY, hiY) - y0;
+                if (placed.anyWithin(x, y, minDist)) {
+                    attempts++;
+                    continue;
+                }
+                placed.add(x, y);
+            }
+            edges = Graph.nearestEdges(placed, new WeightedQuickUnion(placed.size()));
+        }
+    }
+
+    /**
+     * Builds the tiles from..to, splitting the range in halves until a task has a single tile.
+     */
+    private static class TileTask extends RecursiveAction {
+        private final Tile[] tiles;
+        private final int from, to;
+        private final int ball_radius, width, height, maxAttempts;
+
+        TileTask(Tile[] tiles, int from, int to, int ball_radius, int width, int height, int maxAttempts) {
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+            this.ball_radius = ball_radius;
+            this.width = width;
+            this.height = height;
+            this.maxAttempts = maxAttempts;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    tiles[from].build(ball_radius, width, height, maxAttempts);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TileTask(tiles, from, mid, ball_radius, width, height, maxAttempts),
+                    new TileTask(tiles, mid, to, ball_radius, width, height, maxAttempts));
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package playground;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Remembers the results of the last path queries, least recently used first out, so asking
+ * for the same start, end and algorithm again is a map lookup instead of a search. Every entry
+ * belongs to one Graph at one {@link Graph#version()}: as soon as a query comes in for a newer
+ * version, because a vertex was dragged or the density changed, or for another graph altogether,
+ * the whole cache is dropped. Callers get their own copy of a cached path.
+ *
+ * A subpath of a shortest path is a shortest path itself, so a query for the shortest path
+ * algorithms whose ends both lie on a cached shortest path is answered by cutting it out.
+ * Safe to use from several threads.
+ */
+public class PathCache {
+
+    private final int capacity;
+    private final LinkedHashMap<Key, PathResult> entries;
+    private final HashMap<Integer, ArrayList<int[]>> shortestThrough = new HashMap<>(); // vertex -> cached shortest paths through it
+    private WeakReference<Graph> graph = new WeakReference<>(null); // the graph every entry belongs to, not kept alive once it is replaced
+    private long version = -1; // the version of that graph every entry belongs to
+    private long hits = 0;
+    private long subpathHits = 0; // hits cut out of a longer path, also counted in hits
+    private long misses = 0;
+    private long evictions = 0;
+
+    public PathCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("a cache needs room for at least one path, not " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) { // access order, the eldest is the least recently used
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PathResult> eldest) {
+                if (size() <= PathCache.this.capacity) {
+                    return false;
+                }
+                evictions++;
+                forget(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Finds a path with the cache in front of PathEngine: returns the cached result if there is
+     * one for the graph as it is now, else searches and remembers the result.
+     */
+    public PathResult shortestPath(Graph graph, int src, int dst, PathEngine.Algorithm algorithm) {
+        long current = graph.version();
+        CsrGraph adjacency = graph.freeze();
+        PathResult result = get(graph, current, adjacency, src, dst, algorithm);
+        if (result == null) {
+            result = PathEngine.shortestPath(adjacency, src, dst, algorithm);
+            put(graph, current, src, dst, algorithm, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached result for a query on version VERSION of GRAPH, or null on a miss.
+     * ADJACENCY must be that version frozen, it sums up the cost of paths cut out of longer ones.
+     */
+    public synchronized PathResult get(Graph graph, long version, CsrGraph adjacency, int src, int dst,
+                                       PathEngine.Algorithm algorithm) {
+        if (isOutdated(graph, version)) { // the graph changed since, don't throw away the newer entries
+            misses++;
+            return null;
+        }
+        moveTo(graph, version);
+        Key key = new Key(src, dst, algorithm);
+        PathResult result = entries.get(key);
+        if (result == null && isShortest(algorithm)) {
+            result = subpath(adjacency, src, dst);
+            if (result != null) {
+                subpathHits++;
+                add(key, result);
+            }
+        }
+        if (result == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copy(result);
+    }
+
+    /**
+     * Remembers a copy of the result of a query on version VERSION of GRAPH. Results for an older
+     * version than the cache is at, e.g. of a search that ran while a vertex was dragged, are dropped.
+     */
+    public synchronized void put(Graph graph, long version, int src, int dst, PathEngine.Algorithm algorithm,
+                                 PathResult result) {
+        if (isOutdated(graph, version)) {
+            return;
+        }
+        moveTo(graph, version);
+        add(new Key(src, dst, algorithm), copy(result));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        shortestThrough.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long subpathHits() {
+        return subpathHits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    /** Returns true for a version of the cache's graph older than the entries. */
+    private boolean isOutdated(Graph graph, long version) {
+        return graph == this.graph.get() && version < this.version;
+    }
+
+    private void moveTo(Graph graph, long version) {
+        if (graph != this.graph.get() || version != this.version) {
+            clear();
+            this.graph = new WeakReference<>(graph);
+            this.version = version;
+        }
+    }
+
+    /** Returns RESULT with a path of its own, so no caller can change what the cache holds. */
+    private static PathResult copy(PathResult result) {
+        return new PathResult(result.path.clone(), result.cost, result.settled, result.relaxed);
+    }
+
+    private void add(Key key, PathResult result) {
+        PathResult old = entries.put(key, result);
+        if (old != null) {
+            forget(key, old);
+        }
+        if (isShortest(key.algorithm) && result.found) {
+            for (int v : result.path) {
+                shortestThrough.computeIfAbsent(v, k -> new ArrayList<>(1)).add(result.path);
+            }
+        }
+    }
+
+    /** Removes the subpath index entries of a result that left the cache. */
+    private void forget(Key key, PathResult result) {
+        if (!isShortest(key.algorithm) || !result.found) {
+            return;
+        }
+        for (int v : result.path) {
+            ArrayList<int[]> paths = shortestThrough.get(v);
+            if (paths == null) {
+                continue;
+            }
+            paths.remove(result.path); // identity, the same array was added
+            if (paths.isEmpty()) {
+                shortestThrough.remove(v);
+            }
+        }
+    }
+
+    /**
+     * Cuts the path between SRC and DST out of a cached shortest path through both, in either
+     * direction since the edges are undirected, or returns null if there is none.
+     */
+    private PathResult subpath(CsrGraph adjacency, int src, int dst) {
+        ArrayList<int[]> paths = shortestThrough.get(src);
+        if (paths == null) {
+            return null;
+        }
+        for (int[] path : paths) {
+            int from = -1;
+            int to = -1;
+            for (int i = 0; i < path.length && (from < 0 || to < 0); i++) {
+                if (path[i] == src) {
+                    from = i;
+                }
+                if (path[i] == dst) {
+                    to = i;
+                }
+            }
+            if (from < 0 || to < 0) {
+                continue;
+            }
+            int step = from <= to ? 1 : -1;
+            int[] cut = new int[Math.abs(to - from) + 1];
+            double cost = 0;
+            for (int k = 0; k < cut.length; k++) {
+                cut[k] = path[from + k * step];
+                if (k > 0) {
+                    cost += arcWeight(adjacency, cut[k - 1], cut[k]);
+                }
+            }
+            return new PathResult(cut, cost, 0, 0);
+        }
+        return null;
+    }
+
+    private static double arcWeight(CsrGraph adjacency, int v, int u) {
+        for (int e = adjacency.begin(v); e < adjacency.end(v); e++) {
+            if (adjacency.target(e) == u) {
+                return adjacency.weight(e);
+            }
+        }
+        throw new IllegalStateException("the cached path uses an arc " + v + " -> " + u + " the graph doesn't have");
+    }
+
+    /** Returns true for the algorithms that return a path of least total weight. */
+    private static boolean isShortest(PathEngine.Algorithm algorithm) {
+        return algorithm != PathEngine.Algorithm.DFS && algorithm != PathEngine.Algorithm.BFS;
+    }
+
+    private static final class Key {
+        final int src;
+        final int dst;
+        final PathEngine.Algorithm algorithm;
+
+        Key(int src, int dst, PathEngine.Algorithm algorithm) {
+            this.src = src;
+            this.dst = dst;
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return src == other.src && dst == other.dst && algorithm == other.algorithm;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(src, dst, algorithm);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package playground;
+
+import java.util.Arrays;
+
+/**
+ * Runs the path searches the workers animate, without any Swing.
+ * Every search works on a frozen adjacency and reports what it
+ * does to a SearchListener, so the same code serves the animated workers
+ * and headless callers that just want the path as fast as possible.
+ */
+public class PathEngine {
+
+    public enum Algorithm {
+        DFS, BFS, DIJKSTRA, ASTAR, BIDIRECTIONAL_ASTAR, PARALLEL_BIDIRECTIONAL_ASTAR
+    }
+
+    /**
+     * Finds a path from SRC to DST with the given algorithm, using the straight line
+     * distance as the heuristic for the A* variants.
+     *
+     * @param graph The graph to search, frozen if it isn't already.
+     * @param src The index of the start vertex.
+     * @param dst The index of the end vertex.
+     * @param algorithm The search to run.
+     * @return The path, its cost and how much work it took.
+     */
+    public static PathResult shortestPath(Graph graph, int src, int dst, Algorithm algorithm) {
+        return shortestPath(graph.freeze(), src, dst, algorithm);
+    }
+
+    public static PathResult shortestPath(GraphStore graph, int src, int dst, Algorithm algorithm) {
+        switch (algorithm) {
+            case DFS:
+                return dfs(graph, src, dst, SearchListener.NONE);
+            case BFS:
+                return bfs(graph, src, dst, SearchListener.NONE);
+            case DIJKSTRA:
+                return dijkstra(graph, src, dst, SearchListener.NONE);
+            case ASTAR:
+                return astar(graph, src, dst, Heuristic.euclidean(graph, dst), SearchListener.NONE);
+            case BIDIRECTIONAL_ASTAR:
+                return bidirectionalAstar(graph, src, dst, Heuristic.euclidean(graph, dst),
+                        Heuristic.euclidean(graph, src), SearchListener.NONE);
+            case PARALLEL_BIDIRECTIONAL_ASTAR:
+                return parallelBidirectionalAstar(graph, src, dst, Heuristic.euclidean(graph, dst),
+                        Heuristic.euclidean(graph, src), SearchListener.NONE);
+            default:
+                throw new IllegalArgumentException("unknown algorithm " + algorithm);
+        }
+    }
+
+    /**
+     * Depth first search that follows the first unvisited neighbor until it reaches DST.
+     * The path it returns is the one it found, not necessarily the shortest.
+     * It keeps its own stack, with the index of the next edge to try for every vertex on it,
+     * so the depth isn't limited by the thread's stack.
+     */
+    public static PathResult dfs(GraphStore graph, int src, int dst, SearchListener listener) {
+        try (SearchContext context = SearchContext.acquire(graph.vertexCount())) {
+            int[] stack = context.intBuffer(); // the vertices on the current path, every vertex is on it at most once
+            long[] nextEdge = context.arcBuffer(); // nextEdge[i] is the next edge of stack[i] to follow
+            int settled = 1;
+            int relaxed = 0;
+            context.setDist(src, 0);
+            if (src == dst) {
+                listener.mark(src, VertexState.FOUND);
+                return new PathResult(new int[] {src}, 0, settled, relaxed);
+            }
+            stack[0] = src;
+            nextEdge[0] = graph.firstArc(src);
+            int top = 1;
+
+            while (top > 0) {
+                int v = stack[top - 1];
+                if (nextEdge[top - 1] == graph.endArc(v)) {
+                    if (v != src) {
+                        listener.mark(v, VertexState.DONE); // dead end
+                    }
+                    top--;
+                    continue;
+                }
+                long e = nextEdge[top - 1]++;
+                relaxed++;
+                int u = graph.target(e);
+                if (context.seen(u)) {
+                    continue;
+                }
+                settled++;
+                context.setDist(u, context.dist(v) + graph.weight(e));
+                context.setParent(u, v);
+                if (u == dst) {
+                    listener.mark(u, VertexState.FOUND); // we found a path
+                    for (int i = top - 1; i > 0; i--) { // keep start color
+                        listener.mark(stack[i], VertexState.PATH);
+                    }
+                    return new PathResult(PathResult.walkBack(context.parent, src, dst), context.dist(dst), settled, relaxed);
+                }
+                listener.mark(u, VertexState.VISITED);
+                stack[top] = u;
+                nextEdge[top] = graph.firstArc(u);
+                top++;
+            }
+            return PathResult.notFound(settled, relaxed);
+        }
+    }
+
+    /**
+     * Breadth first search, which finds the path with the fewest edges.
+     * Vertices are marked visited when they are enqueued so none is enqueued twice.
+     */
+    public static PathResult bfs(GraphStore graph, int src, int dst, SearchListener listener) {
+        try (SearchContext context = SearchContext.acquire(graph.vertexCount())) {
+            int[] queue = context.intBuffer(); // every vertex is enqueued at most once
+            int head = 0;
+            int tail = 0;
+            int settled = 0;
+            int relaxed = 0;
+            queue[tail++] = src;
+            context.setDist(src, 0);
+
+            while (head < tail) {
+                int v = queue[head++];
+                settled++;
+                if (v == dst) {
+                    listener.mark(v, VertexState.FOUND);
+                    int[] path = PathResult.walkBack(context.parent, src, dst);
+                    markPath(path, listener);
+                    return new PathResult(path, context.dist(dst), settled, relaxed);
+                }
+                if (v != src) {
+                    listener.mark(v, VertexState.DONE); // done processing all of its neighbors
+                }
+                for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                    relaxed++;
+                    int u = graph.target(e);
+                    if (context.seen(u)) {
+                        continue;
+                    }
+                    context.setDist(u, context.dist(v) + graph.weight(e));
+                    context.setParent(u, v);
+                    queue[tail++] = u;
+                    if (u != dst) {
+                        listener.mark(u, VertexState.VISITED);
+                    }
+                }
+            }
+            return PathResult.notFound(settled, relaxed);
+        }
+    }
+
+    /**
+     * Dijkstra's algorithm, which settles vertices in order of their distance from SRC.
+     */
+    public static PathResult dijkstra(GraphStore graph, int src, int dst, SearchListener listener) {
+        return astar(graph, src, dst, null, listener);
+    }
+
+    /**
+     * Dijkstra's algorithm without a target, returns the distance from SRC to every vertex,
+     * infinity for the ones it can't reach. The array returned is the only one allocated.
+     */
+    public static double[] distances(GraphStore graph, int src) {
+        int n = graph.vertexCount();
+        double[] distTo = new double[n];
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        distTo[src] = 0;
+        try (SearchContext context = SearchContext.acquire(n)) {
+            IndexedMinHeap pq = context.heap();
+            pq.insert(src, 0);
+            while (!pq.isEmpty()) {
+                int v = pq.poll();
+                for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                    int u = graph.target(e);
+                    double newDist = distTo[v] + graph.weight(e);
+                    if (newDist < distTo[u]) {
+                        distTo[u] = newDist;
+                        pq.insertOrDecrease(u, newDist);
+                    }
+                }
+            }
+        }
+        return distTo;
+    }
+
+    /**
+     * A* search, Dijkstra's algorithm with vertices ordered by distance plus HEURISTIC.
+     * The heuristic must never overestimate the remaining distance to DST,
+     * passing null runs plain Dijkstra's algorithm.
+     */
+    public static PathResult astar(GraphStore graph, int src, int dst, Heuristic heuristic, SearchListener listener) {
+        try (SearchContext context = SearchContext.acquire(graph.vertexCount())) {
+            IndexedMinHeap pq = context.heap();
+            context.setDist(src, 0);
+            pq.insert(src, heuristic == null ? 0 : heuristic.estimate(src));
+            int settledCount = 0;
+            int relaxed = 0;
+
+            while (!pq.isEmpty()) {
+                int v = pq.poll();
+                context.settle(v);
+                settledCount++;
+                if (v == dst) {
+                    int[] path = PathResult.walkBack(context.parent, src, dst);
+                    markPath(path, listener);
+                    return new PathResult(path, context.dist(dst), settledCount, relaxed);
+                }
+                if (v != src) {
+                    listener.mark(v, VertexState.VISITED);
+                }
+
+                double distV = context.dist(v);
+                for (long e = graph.firstArc(v); e < graph.endArc(v); e++) {
+                    relaxed++;
+                    int u = graph.target(e);
+                    if (context.settled(u)) {
+                        continue; // skip settled vertices
+                    }
+                    double newDist = distV + graph.weight(e);
+                    if (newDist < context.dist(u)) { // found shorter path
+                        context.setDist(u, newDist);
+                        context.setParent(u, v);
+                        pq.insertOrDecrease(u, heuristic == null ? newDist : newDist + heuristic.estimate(u));
+                    }
+                }
+            }
+            return PathResult.notFound(settledCount, relaxed);
+        }
+    }
+
+    /**
+     * Bidirectional A*: a forward search from SRC guided by FORWARD_HEURISTIC and a backward
+     * search from DST guided by BACKWARD_HEURISTIC, always advancing the side with the smaller key.
+     * See {@link BidirectionalSearch} for the potentials and the stopping rule.
+     */
+    public static PathResult bidirectionalAstar(GraphStore graph, int src, int dst, Heuristic forwardHeuristic,
+                                                Heuristic backwardHeuristic, SearchListener listener) {
+        return new BidirectionalSearch(graph, src, dst, forwardHeuristic, backwardHeuristic, listener, false).run();
+    }
+
+    /**
+     * Like {@link #bidirectionalAstar}, but runs the backward search on a second thread, so a single
+     * query uses two cores. LISTENER is called from both threads.
+     */
+    public static PathResult parallelBidirectionalAstar(GraphStore graph, int src, int dst, Heuristic forwardHeuristic,
+                                                        Heuristic backwardHeuristic, SearchListener listener) {
+        return new BidirectionalSearch(graph, src, dst, forwardHeuristic, backwardHeuristic, listener, true)
+                .runConcurrently();
+    }
+
+    /**
+     * Joins the forward tree path SRC .. MEET with the backward tree path MEET .. DST.
+     */
+    static int[] joinPaths(int[] forwardParent, int[] backwardParent, int src, int meet, int dst) {
+        int[] forward = PathResult.walkBack(forwardParent, src, meet);
+        int backwardLength = 0;
+        for (int v = meet; v != dst; v = backwardParent[v]) {
+            backwardLength++;
+        }
+        int[] path = Arrays.copyOf(forward, forward.length + backwardLength);
+        int i = forward.length;
+        for (int v = meet; v != dst; v = backwardParent[v]) {
+            path[i++] = backwardParent[v];
+        }
+        return path;
+    }
+
+    /**
+     * Resets the marks of the search and marks the inner vertices of PATH, walking back from the end.
+     */
+    static void markPath(int[] path, SearchListener listener) {
+        listener.clearMarks();
+        for (int i = path.length - 2; i > 0; i--) {
+            listener.mark(path[i], VertexState.PATH);
+        }
+    }
+}
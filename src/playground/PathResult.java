@@ -0,0 +1,43 @@
+package playground;
+
+/**
+ * The outcome of a single path query: the path as vertex indices from the
+ * start to the end vertex, its total weight and how much work the search did.
+ */
+public class PathResult {
+    public final boolean found;
+    public final int[] path; // vertex indices from start to end, empty if no path was found
+    public final double cost; // sum of the edge weights along the path, infinity if no path was found
+    public final int settled; // number of vertices the search expanded
+    public final int relaxed; // number of arcs the search looked at
+
+    public PathResult(int[] path, double cost, int settled, int relaxed) {
+        this.found = path.length > 0;
+        this.path = path;
+        this.cost = cost;
+        this.settled = settled;
+        this.relaxed = relaxed;
+    }
+
+    /** Returns the result of a search that didn't reach the end vertex. */
+    public static PathResult notFound(int settled, int relaxed) {
+        return new PathResult(new int[0], Double.POSITIVE_INFINITY, settled, relaxed);
+    }
+
+    /**
+     * Builds the path by following PARENT back from END to START.
+     */
+    public static int[] walkBack(int[] parent, int start, int end) {
+        int length = 1;
+        for (int v = end; v != start; v = parent[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int i = length - 1;
+        for (int v = end; v != start; v = parent[v]) {
+            path[i--] = v;
+        }
+        path[0] = start;
+        return path;
+    }
+}
@@ -0,0 +1,76 @@
+package playground;
+
+import javax.swing.*;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Runs Lifelong Planning A* and keeps it alive after the path is found: every vertex dragged
+ * while it runs is handed to the planner, which repairs only the distances the move broke and
+ * shows the new path. Runs until it is cancelled.
+ */
+public class ReplanningAstarWorker extends DfsWorker {
+
+    private final LinkedBlockingQueue<Integer> moved = new LinkedBlockingQueue<>(); // vertices dragged since the last repair
+    private boolean replanning = false; // repairs aren't slowed down, they follow the mouse
+
+    public ReplanningAstarWorker(Vertex start, Vertex end, GraphPanel graphPanel) {
+        super(start, end, graphPanel);
+    }
+
+    /**
+     * Called on the EDT after the weights of V's edges were updated. Moves are only followed as
+     * long as the edge set is the one the planner started on, a density change ends them.
+     */
+    public void vertexMoved(Vertex v) {
+        if (graphPanel.graph.freeze() == adjacency) {
+            moved.add(v.index);
+        }
+    }
+
+    /**
+     * Runs on background thread.
+     */
+    @Override
+    protected Boolean doInBackground() throws Exception { // handles InterruptedException from take
+        animation.mark(startVertex.index, VertexState.START);
+        animation.mark(endVertex.index, VertexState.END);
+
+        LifelongPlanningAstar planner = new LifelongPlanningAstar(adjacency, startVertex.index, endVertex.index);
+        result = planner.computeShortestPath(animation);
+        showStatus(describe(result));
+        replanning = true;
+        while (!isCancelled()) {
+            int v = moved.take(); // cancel(true) interrupts the wait
+            planner.vertexMoved(v);
+            Integer next;
+            while ((next = moved.poll()) != null) { // a fast drag queues up several moves, repair them at once
+                planner.vertexMoved(next);
+            }
+            result = planner.computeShortestPath(animation);
+            showStatus(result.found
+                    ? String.format("Replanned, settled %d vertices, path cost %.1f", result.settled, result.cost)
+                    : String.format("Replanned, no path, settled %d vertices", result.settled));
+        }
+        return result.found;
+    }
+
+    private void showStatus(String line) {
+        SwingUtilities.invokeLater(() -> {
+            graphPanel.status = line;
+            graphPanel.repaint();
+        });
+    }
+
+    @Override
+    protected boolean paced() {
+        return !replanning;
+    }
+
+    @Override
+    protected int delayFor(byte state) {
+        if (state == VertexState.VISITED || state == VertexState.PATH) {
+            return graphPanel.animationDelay;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,114 @@
+package playground;
+
+import java.util.Arrays;
+
+/**
+ * The scratch arrays of a search, kept per thread and reused from one query to the next so
+ * queries in a loop don't allocate. Instead of clearing the arrays, every query gets a new
+ * generation and each vertex remembers the generation it was last touched in: a vertex from an
+ * older one reads as unvisited. Starting a query is O(1) unless the graph grew.
+ *
+ * A search takes the context with {@link #acquire(int)} and gives it back with close, best in a
+ * try with resources. A search started while the thread's context is taken, e.g. from a
+ * listener, gets a fresh one.
+ */
+public final class SearchContext implements AutoCloseable {
+
+    private static final ThreadLocal<SearchContext> CONTEXTS = ThreadLocal.withInitial(() -> new SearchContext(0));
+
+    private double[] dist;
+    int[] parent; // only meaningful for vertices seen in this generation
+    private int[] epoch; // generation the vertex was last seen in, plus one once it is settled
+    private int generation = 0; // always even, so generation + 1 can mean settled
+    private IndexedMinHeap pq;
+    private int[] buffer;
+    private long[] arcs;
+    private boolean inUse = false;
+
+    private SearchContext(int n) {
+        allocate(n);
+    }
+
+    private void allocate(int n) {
+        dist = new double[n];
+        parent = new int[n];
+        epoch = new int[n];
+        pq = new IndexedMinHeap(n);
+        buffer = new int[n];
+        arcs = new long[n];
+        generation = 0;
+    }
+
+    /**
+     * Returns this thread's context, ready for a search over N vertices.
+     */
+    public static SearchContext acquire(int n) {
+        SearchContext context = CONTEXTS.get();
+        if (context.inUse) {
+            context = new SearchContext(n); // a search inside a search, don't pull the arrays from under the outer one
+        } else if (context.epoch.length < n) {
+            context.allocate(n);
+        }
+        context.inUse = true;
+        context.pq.clear();
+        context.generation += 2;
+        if (context.generation < 0) { // wrapped around after about a billion searches
+            Arrays.fill(context.epoch, 0);
+            context.generation = 2;
+        }
+        return context;
+    }
+
+    @Override
+    public void close() {
+        inUse = false;
+    }
+
+    public boolean seen(int v) {
+        return epoch[v] >= generation;
+    }
+
+    public boolean settled(int v) {
+        return epoch[v] == generation + 1;
+    }
+
+    public void settle(int v) {
+        epoch[v] = generation + 1;
+    }
+
+    /** Returns the tentative distance of V, infinity if this search hasn't seen it. */
+    public double dist(int v) {
+        return epoch[v] >= generation ? dist[v] : Double.POSITIVE_INFINITY;
+    }
+
+    /** Sets the distance of V and marks it seen. */
+    public void setDist(int v, double d) {
+        if (epoch[v] < generation) {
+            epoch[v] = generation;
+        }
+        dist[v] = d;
+    }
+
+    public int parent(int v) {
+        return parent[v];
+    }
+
+    public void setParent(int v, int p) {
+        parent[v] = p;
+    }
+
+    /** Returns a priority queue over the vertices, empty at the start of every search. */
+    public IndexedMinHeap heap() {
+        return pq;
+    }
+
+    /** Returns an int array with room for every vertex, e.g. for a breadth first queue. */
+    public int[] intBuffer() {
+        return buffer;
+    }
+
+    /** Returns a long array with room for every vertex, e.g. for the next arc of every vertex on a stack. */
+    public long[] arcBuffer() {
+        return arcs;
+    }
+}
@@ -0,0 +1,31 @@
+package playground;
+
+/**
+ * Receives the state changes of a running search, one vertex at a time.
+ * The Swing workers use this to animate a search, headless callers pass
+ * {@link #NONE} and get the search at full speed.
+ */
+public interface SearchListener {
+
+    /** A listener that ignores everything. */
+    SearchListener NONE = new SearchListener() {
+        @Override
+        public void mark(int vertex, byte state) {
+        }
+
+        @Override
+        public void clearMarks() {
+        }
+    };
+
+    /**
+     * Called when the search moves VERTEX into STATE, one of the {@link VertexState} constants.
+     */
+    void mark(int vertex, byte state);
+
+    /**
+     * Called once a path was found, right before it is marked,
+     * to reset everything except the start and end vertex.
+     */
+    void clearMarks();
+}
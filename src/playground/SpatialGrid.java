@@ -0,0 +1,219 @@
+package playground;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid over the plane that buckets points by cell, so looking for
+ * points near a position only touches the cells around it instead of every
+ * point. Points are numbered in the order they are added, which for a graph
+ * is the index of the vertex. Each cell is a linked list threaded through
+ * primitive arrays.
+ */
+public class SpatialGrid {
+
+    final int cellSize;
+    final int cols;
+    final int rows;
+    private final int[] head; // first point in each cell, -1 if the cell is empty
+    private int[] next; // next point in the same cell, -1 at the end of the list
+    private int[] xs;
+    private int[] ys;
+    private int size = 0;
+
+    /**
+     * Creates an empty grid covering WIDTH by HEIGHT with square cells of side CELL_SIZE.
+     * Points outside of the area are put in the nearest border cell.
+     */
+    public SpatialGrid(int width, int height, int cellSize) {
+        this.cellSize = Math.max(1, cellSize);
+        this.cols = Math.max(1, (width + this.cellSize - 1) / this.cellSize);
+        this.rows = Math.max(1, (height + this.cellSize - 1) / this.cellSize);
+        head = new int[cols * rows];
+        Arrays.fill(head, -1);
+        next = new int[16];
+        xs = new int[16];
+        ys = new int[16];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int x(int id) {
+        return xs[id];
+    }
+
+    public int y(int id) {
+        return ys[id];
+    }
+
+    /** Adds the point (X, Y) and returns its number. */
+    public int add(int x, int y) {
+        if (size == next.length) {
+            int capacity = size * 2;
+            next = Arrays.copyOf(next, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        int id = size++;
+        xs[id] = x;
+        ys[id] = y;
+        int cell = cellOf(x, y);
+        next[id] = head[cell];
+        head[cell] = id;
+        return id;
+    }
+
+    /**
+     * Returns true if any point lies within DIST of (X, Y), border included.
+     */
+    public boolean anyWithin(int x, int y, int dist) {
+        long maxSquared = (long) dist * dist;
+        int minCol = col(x - dist);
+        int maxCol = col(x + dist);
+        int minRow = row(y - dist);
+        int maxRow = row(y + dist);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                for (int p = head[r * cols + c]; p >= 0; p = next[p]) {
+                    long dx = xs[p] - x;
+                    long dy = ys[p] - y;
+                    if (dx * dx + dy * dy <= maxSquared) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns every point within DIST of (X, Y), border included, in increasing order.
+     */
+    public int[] within(int x, int y, int dist) {
+        long maxSquared = (long) dist * dist;
+        int[] found = new int[8];
+        int count = 0;
+        for (int r = row(y - dist); r <= row(y + dist); r++) {
+            for (int c = col(x - dist); c <= col(x + dist); c++) {
+                for (int p = head[r * cols + c]; p >= 0; p = next[p]) {
+                    long dx = xs[p] - x;
+                    long dy = ys[p] - y;
+                    if (dx * dx + dy * dy <= maxSquared) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = p;
+                    }
+                }
+            }
+        }
+        found = Arrays.copyOf(found, count);
+        Arrays.sort(found);
+        return found;
+    }
+
+    /**
+     * Returns the point closest to (X, Y) whose label isn't EXCLUDED, looking at rings of cells
+     * around (X, Y) until no closer point can exist. Only points strictly closer than
+     * sqrt(MAX_SQUARED) count, so a caller that already has a candidate can pass its distance
+     * and skip most of the search.
+     *
+     * @param labels The label of every point, e.g. the component of every vertex.
+     * @return The closest such point, or -1 if there is none.
+     */
+    public int nearest(int x, int y, int[] labels, int excluded, long maxSquared) {
+        return nearest(x, y, labels, excluded, maxSquared, Math.max(cols, rows));
+    }
+
+    /**
+     * Like {@link #nearest(int, int, int[], int, long)}, but gives up after MAX_RING rings of cells.
+     */
+    public int nearest(int x, int y, int[] labels, int excluded, long maxSquared, int maxRing) {
+        int centerCol = col(x);
+        int centerRow = row(y);
+        int best = -1;
+        long bestSquared = maxSquared;
+        maxRing = Math.min(maxRing, Math.max(cols, rows)); // beyond that every cell was looked at
+        for (int ring = 0; ring <= maxRing; ring++) {
+            long gap = (long) (ring - 1) * cellSize; // no point in this ring is closer than this
+            if (ring > 0 && gap * gap >= bestSquared) {
+                break;
+            }
+            int minRow = Math.max(0, centerRow - ring);
+            int maxRow = Math.min(rows - 1, centerRow + ring);
+            for (int r = minRow; r <= maxRow; r++) {
+                boolean edgeRow = r == centerRow - ring || r == centerRow + ring;
+                int step = edgeRow ? 1 : 2 * ring; // inner rows only touch the ring at its left and right side
+                for (int c = centerCol - ring; c <= centerCol + ring; c += Math.max(1, step)) {
+                    if (c < 0 || c >= cols) {
+                        continue;
+                    }
+                    for (int p = head[r * cols + c]; p >= 0; p = next[p]) {
+                        if (labels[p] == excluded) {
+                            continue;
+                        }
+                        long dx = xs[p] - x;
+                        long dy = ys[p] - y;
+                        long squared = dx * dx + dy * dy;
+                        if (squared < bestSquared) {
+                            best = p;
+                            bestSquared = squared;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Adds every point in the rectangle MIN_X .. MAX_X by MIN_Y .. MAX_Y, border included, to
+     * OUT, in no particular order. Only the cells overlapping the rectangle are looked at.
+     */
+    public void inRectangle(int minX, int minY, int maxX, int maxY, IntList out) {
+        for (int r = row(minY); r <= row(maxY); r++) {
+            for (int c = col(minX); c <= col(maxX); c++) {
+                for (int p = head[r * cols + c]; p >= 0; p = next[p]) {
+                    if (xs[p] >= minX && xs[p] <= maxX && ys[p] >= minY && ys[p] <= maxY) {
+                        out.add(p);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Moves point ID to (X, Y), e.g. after its vertex was dragged. */
+    public void move(int id, int x, int y) {
+        int oldCell = cellOf(xs[id], ys[id]);
+        xs[id] = x;
+        ys[id] = y;
+        int newCell = cellOf(x, y);
+        if (oldCell == newCell) {
+            return;
+        }
+        if (head[oldCell] == id) { // unlink it from its old cell
+            head[oldCell] = next[id];
+        } else {
+            int p = head[oldCell];
+            while (next[p] != id) {
+                p = next[p];
+            }
+            next[p] = next[id];
+        }
+        next[id] = head[newCell];
+        head[newCell] = id;
+    }
+
+    int cellOf(int x, int y) {
+        return row(y) * cols + col(x);
+    }
+
+    int col(int x) {
+        return Math.min(cols - 1, Math.max(0, x / cellSize));
+    }
+
+    int row(int y) {
+        return Math.min(rows - 1, Math.max(0, y / cellSize));
+    }
+}
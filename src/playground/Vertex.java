@@ -1,3 +1,5 @@
+package playground;
+
 import java.awt.*;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -22,6 +24,16 @@ public class Vertex {
         this.index = index;
     }
 
+    /**
+     * Hashes by index so neighbor maps iterate in the same order on every run,
+     * which keeps seeded graphs and their traversals reproducible.
+     * Equality stays identity, every index belongs to a single vertex.
+     */
+    @Override
+    public int hashCode() {
+        return index;
+    }
+
     public void updateColor(Color c) {
         this.color = c;
     }
@@ -35,9 +47,9 @@ public class Vertex {
      * @return returns true if the point is inside the circle.
      */
     public boolean contains(int mx, int my) {
-        int dx = mx - x;
-        int dy = my - y;
-        return dx * dx + dy * dy <= radius * radius; // distance from the middle of the circle must be <= r^2
+        long dx = (long) mx - x;
+        long dy = (long) my - y;
+        return dx * dx + dy * dy <= (long) radius * radius; // distance from the middle of the circle must be <= r^2
     }
 
 }
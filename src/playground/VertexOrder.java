@@ -0,0 +1,187 @@
+package playground;
+
+import java.util.Arrays;
+
+/**
+ * Vertex orders that put vertices that are close in the graph close in memory, for
+ * {@link Graph#renumbered(int[])}. The generators number vertices in the order they happened to
+ * be placed, so the neighbors of a vertex sit all over the arrays a search touches. An order
+ * lists the old indices in their new order, order[newIndex] = oldIndex.
+ */
+public class VertexOrder {
+
+    public enum Strategy {
+        HILBERT, // along a Hilbert curve through the plane, neighbors are close in space
+        REVERSE_CUTHILL_MCKEE // breadth first by degree, reversed, keeps the adjacency near the diagonal
+    }
+
+    static final int HILBERT_BITS = 16; // the curve runs through a 2^16 by 2^16 grid over the bounding box
+
+    public static int[] of(GraphStore graph, Strategy strategy) {
+        switch (strategy) {
+            case HILBERT:
+                return hilbert(graph);
+            case REVERSE_CUTHILL_MCKEE:
+                return reverseCuthillMcKee(graph);
+            default:
+                throw new IllegalArgumentException("unknown strategy " + strategy);
+        }
+    }
+
+    /**
+     * Sorts the vertices by their position along a Hilbert curve through their bounding box.
+     */
+    public static int[] hilbert(GraphStore graph) {
+        int n = graph.vertexCount();
+        if (n == 0) {
+            return new int[0];
+        }
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int v = 0; v < n; v++) {
+            minX = Math.min(minX, graph.x(v));
+            minY = Math.min(minY, graph.y(v));
+            maxX = Math.max(maxX, graph.x(v));
+            maxY = Math.max(maxY, graph.y(v));
+        }
+        double scale = ((1 << HILBERT_BITS) - 1) / (double) Math.max(1, Math.max(maxX - minX, maxY - minY));
+        long[] keys = new long[n]; // curve position in the high bits, the vertex in the low 31
+        for (int v = 0; v < n; v++) {
+            int hx = (int) ((graph.x(v) - minX) * scale);
+            int hy = (int) ((graph.y(v) - minY) * scale);
+            keys[v] = hilbertIndex(hx, hy) << 31 | v;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) (keys[i] & Integer.MAX_VALUE);
+        }
+        return order;
+    }
+
+    /**
+     * Returns the distance along the Hilbert curve of the cell (X, Y), with coordinates below 2^16.
+     */
+    static long hilbertIndex(int x, int y) {
+        int side = 1 << HILBERT_BITS;
+        long d = 0;
+        for (int s = side >> 1; s > 0; s >>= 1) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            if (ry == 0) { // rotate the quadrant so the curve stays continuous
+                if (rx == 1) {
+                    x = side - 1 - x;
+                    y = side - 1 - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Reverse Cuthill-McKee: a breadth first search from a vertex at the edge of its component
+     * that visits the neighbors of every vertex by increasing degree, reversed at the end.
+     * Components are ordered one after the other.
+     */
+    public static int[] reverseCuthillMcKee(GraphStore graph) {
+        int n = graph.vertexCount();
+        int[] order = new int[n];
+        boolean[] placed = new boolean[n];
+        int[] queue = new int[n];
+        int[] depth = new int[n];
+        Arrays.fill(depth, -1);
+        int count = 0;
+        long[] byDegree = new long[16];
+        for (int v = 0; v < n; v++) {
+            if (placed[v]) {
+                continue;
+            }
+            int start = peripheral(graph, v, queue, depth);
+            int head = count;
+            order[count++] = start;
+            placed[start] = true;
+            while (head < count) {
+                int u = order[head++];
+                int k = 0;
+                for (long e = graph.firstArc(u); e < graph.endArc(u); e++) {
+                    int w = graph.target(e);
+                    if (!placed[w]) {
+                        placed[w] = true;
+                        if (k == byDegree.length) {
+                            byDegree = Arrays.copyOf(byDegree, k * 2);
+                        }
+                        byDegree[k++] = (graph.endArc(w) - graph.firstArc(w)) << 32 | w;
+                    }
+                }
+                Arrays.sort(byDegree, 0, k);
+                for (int i = 0; i < k; i++) {
+                    order[count++] = (int) byDegree[i];
+                }
+            }
+        }
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        return order;
+    }
+
+    /**
+     * Returns a vertex far from V in its component: repeats breadth first searches from the last
+     * vertex the previous one reached, as long as that makes the search deeper.
+     */
+    private static int peripheral(GraphStore graph, int v, int[] queue, int[] depth) {
+        int start = v;
+        int deepest = -1;
+        for (int round = 0; round < 8; round++) {
+            int[] result = farthest(graph, start, queue, depth);
+            if (result[1] <= deepest) {
+                break;
+            }
+            deepest = result[1];
+            start = result[0];
+        }
+        return start;
+    }
+
+    /**
+     * Returns the last vertex a breadth first search from SOURCE reaches and its depth.
+     * DEPTH must be -1 everywhere and is again afterwards, so searching small components stays cheap.
+     */
+    private static int[] farthest(GraphStore graph, int source, int[] queue, int[] depth) {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        depth[source] = 0;
+        int last = source;
+        while (head < tail) {
+            int u = queue[head++];
+            last = u;
+            for (long e = graph.firstArc(u); e < graph.endArc(u); e++) {
+                int w = graph.target(e);
+                if (depth[w] < 0) {
+                    depth[w] = depth[u] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        int[] result = {last, depth[last]};
+        for (int i = 0; i < tail; i++) {
+            depth[queue[i]] = -1;
+        }
+        return result;
+    }
+
+    /** Returns the inverse of ORDER, inverse[oldIndex] = newIndex. */
+    public static int[] inverse(int[] order) {
+        int[] inverse = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            inverse[order[i]] = i;
+        }
+        return inverse;
+    }
+}
@@ -0,0 +1,16 @@
+package playground;
+
+/**
+ * The states a search can put a vertex in. The engine reports them as plain
+ * bytes so it doesn't depend on Swing, and the workers turn them into colors.
+ */
+public class VertexState {
+    public static final byte UNVISITED = 0; // not touched by the search yet
+    public static final byte START = 1;
+    public static final byte END = 2;
+    public static final byte VISITED = 3; // discovered or settled by the (forward) search
+    public static final byte BACKWARD_VISITED = 4; // settled by the backward half of a bidirectional search
+    public static final byte DONE = 5; // fully processed or a dead end
+    public static final byte PATH = 6; // part of the path that was found
+    public static final byte FOUND = 7; // the end vertex once it has been reached
+}
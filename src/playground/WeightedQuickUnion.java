@@ -1,3 +1,5 @@
+package playground;
+
 public class WeightedQuickUnion {
 
     int[] array;